@@ -0,0 +1,82 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.FilterChainProxy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication overhead per request: one pass through the Spring Security filter chain for
+ * {@code GET /api/teams}, stopping before the controller. {@code basic} re-checks the password with the
+ * configured encoder on every call (bcrypt once Spring has upgraded the {@code {noop}} default), {@code bearer}
+ * verifies the HMAC of a token from {@link TokenService}, and {@code anonymous} is the cost of the chain itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final FilterChain CONTROLLER = (request, response) -> {
+    };
+
+    private ConfigurableApplicationContext context;
+    private FilterChainProxy securityFilterChain;
+    private String basicHeader;
+    private String bearerHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET);
+        securityFilterChain = context.getBean("springSecurityFilterChain", FilterChainProxy.class);
+        basicHeader = "Basic " + Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+        bearerHeader = "Bearer " + context.getBean(TokenService.class).issue(UsernamePasswordAuthenticationToken
+                .authenticated("admin", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int basic() throws ServletException, IOException {
+        return filter(basicHeader);
+    }
+
+    @Benchmark
+    public int bearer() throws ServletException, IOException {
+        return filter(bearerHeader);
+    }
+
+    @Benchmark
+    public int anonymous() throws ServletException, IOException {
+        return filter(null);
+    }
+
+    private int filter(String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilterChain.doFilter(request, response, CONTROLLER);
+        return response.getStatus();
+    }
+}
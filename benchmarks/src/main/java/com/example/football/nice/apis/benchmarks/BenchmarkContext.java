@@ -0,0 +1,50 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.FootballNiceApisApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database,
+ * so benchmarks measure the service and persistence layers without network noise.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param extraProperties additional {@code key=value} overrides; like the defaults they take precedence over application.yml.
+     */
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(WebApplicationType.NONE, extraProperties);
+    }
+
+    /**
+     * Same as {@link #start(String...)} with the given web application type; a servlet context listens on a
+     * random port, for benchmarks that need the web or security layers.
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraProperties) {
+        String[] defaults = {
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "server.port=0"
+        };
+        String[] args = Stream.concat(Arrays.stream(defaults), Arrays.stream(extraProperties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(FootballNiceApisApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+}
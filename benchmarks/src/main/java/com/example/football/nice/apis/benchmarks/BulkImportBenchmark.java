@@ -0,0 +1,89 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.service.BulkImportService;
+import com.example.football.nice.apis.service.PlayerService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second imported through {@code POST /api/players} one row at a time versus
+ * {@code POST /api/players/bulk}, measured at the service layer.
+ * Each operation is one row, so the score reads directly as rows/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(BulkImportBenchmark.ROWS)
+public class BulkImportBenchmark {
+
+    static final int ROWS = 1000;
+
+    @Param({"100", "500"})
+    private int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private BulkImportService bulkImportService;
+    private PlayerRepository playerRepository;
+    private Long teamId;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // a thousand rows per invocation into one team: the squad and jersey rules would reject most of them
+        context = BenchmarkContext.start("football.bulk.chunk-size=" + chunkSize,
+                "football.roster.max-squad-size=0", "football.roster.unique-jersey-numbers=false");
+        playerService = context.getBean(PlayerService.class);
+        bulkImportService = context.getBean(BulkImportService.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        List<Team> teams = LeagueFixtures.seed(context.getBean(TeamRepository.class), 1, 0);
+        teamId = teams.get(0).getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        playerRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleRowInserts(Blackhole blackhole) {
+        for (PlayerDTO playerDTO : nextRows()) {
+            blackhole.consume(playerService.createPlayer(playerDTO));
+        }
+    }
+
+    @Benchmark
+    public BulkImportResultDTO bulkImport() {
+        return bulkImportService.importPlayers(nextRows());
+    }
+
+    // the name must change between invocations because both paths reject existing names
+    private List<PlayerDTO> nextRows() {
+        int batch = invocation++;
+        List<PlayerDTO> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            PlayerDTO playerDTO = LeagueFixtures.player(batch, i);
+            playerDTO.setTeamId(teamId);
+            rows.add(playerDTO);
+        }
+        return rows;
+    }
+}
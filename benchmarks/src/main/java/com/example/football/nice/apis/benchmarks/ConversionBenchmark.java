@@ -0,0 +1,65 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversions of {@link DtoConversionUtils} on detached objects, without Spring or a database.
+ * {@code updateTeamFromDTOUnchanged} is the cost of the roster diff alone; {@code updateTeamFromDTOOneChanged}
+ * adds one player whose salary flips at every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"11", "30", "1000"})
+    private int rosterSize;
+
+    private Team team;
+    private Player player;
+    private TeamDTO teamDTO;
+    private PlayerDTO changedPlayer;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        team = LeagueFixtures.teamEntity(1, rosterSize);
+        player = team.getPlayers().get(0);
+        teamDTO = LeagueFixtures.team(1, rosterSize);
+        changedPlayer = teamDTO.getPlayers().get(rosterSize / 2);
+    }
+
+    @Benchmark
+    public TeamDTO convertToTeamDTO() {
+        return DtoConversionUtils.convertToTeamDTO(team);
+    }
+
+    @Benchmark
+    public PlayerDTO convertToPlayerDTO() {
+        return DtoConversionUtils.convertToPlayerDTO(player);
+    }
+
+    @Benchmark
+    public Team updateTeamFromDTOUnchanged() {
+        changedPlayer.setSalary(Math.floor(changedPlayer.getSalary()));
+        DtoConversionUtils.updateTeamFromDTO(team, teamDTO);
+        return team;
+    }
+
+    @Benchmark
+    public Team updateTeamFromDTOOneChanged() {
+        changedPlayer.setSalary(Math.floor(changedPlayer.getSalary()) + (invocation++ % 2 == 0 ? 0.5 : 0.0));
+        DtoConversionUtils.updateTeamFromDTO(team, teamDTO);
+        return team;
+    }
+}
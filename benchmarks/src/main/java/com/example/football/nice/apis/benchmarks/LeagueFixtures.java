@@ -0,0 +1,82 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic teams and players shared by the benchmarks.
+ */
+public final class LeagueFixtures {
+
+    private static final String[] POSITIONS = {"Goalkeeper", "Defender", "Midfielder", "Forward"};
+    private static final String[] NATIONALITIES = {"French", "Brazilian", "Senegalese", "Spanish", "Argentinian", "Moroccan"};
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+
+    private LeagueFixtures() {
+    }
+
+    public static List<Team> seed(TeamRepository teamRepository, int teams, int playersPerTeam) {
+        List<Team> saved = new ArrayList<>(teams);
+        for (int t = 0; t < teams; t++) {
+            Team team = new Team("Team " + t, "T" + t, 50_000_000.0 + t);
+            for (int p = 0; p < playersPerTeam; p++) {
+                team.getPlayers().add(DtoConversionUtils.convertToPlayer(player(t, p), team));
+            }
+            saved.add(teamRepository.save(team));
+        }
+        return saved;
+    }
+
+    /**
+     * Detached counterpart of {@link #team(int, int)}: same fields and ids, as if loaded from the database,
+     * for the benchmarks that exercise conversions without a persistence context.
+     */
+    public static Team teamEntity(int index, int players) {
+        Team team = new Team("Team " + index, "T" + index, 50_000_000.0 + index);
+        team.setId((long) index);
+        team.setVersion(0L);
+        for (int p = 0; p < players; p++) {
+            Player player = DtoConversionUtils.convertToPlayer(player(index, p), team);
+            player.setId((long) index * 10_000 + p);
+            player.setVersion(0L);
+            team.getPlayers().add(player);
+        }
+        return team;
+    }
+
+    public static TeamDTO team(int index, int players) {
+        TeamDTO team = new TeamDTO();
+        team.setId((long) index);
+        team.setName("Team " + index);
+        team.setAcronym("T" + index);
+        team.setBudget(50_000_000.0 + index);
+        List<PlayerDTO> roster = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            PlayerDTO player = player(index, p);
+            player.setId((long) index * 10_000 + p);
+            roster.add(player);
+        }
+        team.setPlayers(roster);
+        return team;
+    }
+
+    public static PlayerDTO player(int team, int index) {
+        PlayerDTO player = new PlayerDTO();
+        player.setFirstName("First" + index);
+        player.setLastName("Last" + team + "-" + index);
+        player.setPosition(POSITIONS[index % POSITIONS.length]);
+        player.setJerseyNumber(index % 99 + 1);
+        player.setAge(18 + index % 20);
+        player.setNationality(NATIONALITIES[(team + index) % NATIONALITIES.length]);
+        player.setSize(SIZES[index % SIZES.length]);
+        player.setSalary(100_000.0 + 1_000.0 * index);
+        return player;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.util.PlayerUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player identity checks over a whole roster: the duplicate check run on every create and update,
+ * and {@link Player#equals}/{@link Player#hashCode}, which compare all eight content fields.
+ * The equality benchmark compares each player with a distinct but equal copy, the worst case.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerIdentityBenchmark {
+
+    @Param({"11", "30", "1000"})
+    private int rosterSize;
+
+    private List<PlayerDTO> playerDTOs;
+    private List<Player> players;
+    private List<Player> copies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        playerDTOs = LeagueFixtures.team(1, rosterSize).getPlayers();
+        players = LeagueFixtures.teamEntity(1, rosterSize).getPlayers();
+        copies = LeagueFixtures.teamEntity(1, rosterSize).getPlayers();
+    }
+
+    @Benchmark
+    public List<PlayerDTO> checkForDuplicateNewPlayers() {
+        PlayerUtils.checkForDuplicateNewPlayers(playerDTOs);
+        return playerDTOs;
+    }
+
+    @Benchmark
+    public void playerEquals(Blackhole blackhole) {
+        for (int i = 0; i < rosterSize; i++) {
+            blackhole.consume(players.get(i).equals(copies.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void playerHashCode(Blackhole blackhole) {
+        for (Player player : players) {
+            blackhole.consume(player.hashCode());
+        }
+    }
+
+    @Benchmark
+    public Set<Player> rosterHashSet() {
+        return new HashSet<>(players);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the managed-entity read path (load {@code Player} + {@code Team}, then copy into {@link PlayerDTO})
+ * with the constructor-expression projection used by {@code PlayerService}.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerReadBenchmark {
+
+    @Param({"20", "200"})
+    private int teams;
+
+    private ConfigurableApplicationContext context;
+    private PlayerRepository playerRepository;
+    private TransactionTemplate readOnly;
+    private long playerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        playerRepository = context.getBean(PlayerRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        List<Team> seeded = LeagueFixtures.seed(context.getBean(TeamRepository.class), teams, 25);
+        playerId = seeded.get(seeded.size() / 2).getPlayers().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PlayerDTO> listWithEntities() {
+        return readOnly.execute(status -> playerRepository.findAll().stream()
+                .map(DtoConversionUtils::convertToPlayerDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<PlayerDTO> listWithProjection() {
+        return readOnly.execute(status -> playerRepository.findAllAsDto());
+    }
+
+    @Benchmark
+    public PlayerDTO byIdWithEntity() {
+        return readOnly.execute(status -> playerRepository.findById(playerId)
+                .map(DtoConversionUtils::convertToPlayerDTO)
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public PlayerDTO byIdWithProjection() {
+        return readOnly.execute(status -> playerRepository.findDtoById(playerId).orElseThrow());
+    }
+}
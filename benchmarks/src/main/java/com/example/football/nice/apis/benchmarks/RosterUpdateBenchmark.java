@@ -0,0 +1,89 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.service.TeamService;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PUT /api/teams/{id}} on a 30-player team where 1 or all 30 players changed, measured at the service layer.
+ * {@code diff} is {@link TeamService#updateTeam}; {@code deleteAndReinsert} replays the previous algorithm
+ * (clear the roster, flush the deletes, insert a new row per player) as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RosterUpdateBenchmark {
+
+    static final int ROSTER_SIZE = 30;
+
+    @Param({"1", "30"})
+    private int changedPlayers;
+
+    private ConfigurableApplicationContext context;
+    private TeamService teamService;
+    private TeamRepository teamRepository;
+    private PlayerRepository playerRepository;
+    private TransactionTemplate transactionTemplate;
+    private TeamDTO teamDTO;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        teamService = context.getBean(TeamService.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Team team = LeagueFixtures.seed(teamRepository, 1, ROSTER_SIZE).get(0);
+        teamDTO = teamService.getTeamById(team.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TeamDTO diff() {
+        return teamService.updateTeam(teamDTO.getId(), nextRoster());
+    }
+
+    @Benchmark
+    public TeamDTO deleteAndReinsert() {
+        TeamDTO update = nextRoster();
+        return transactionTemplate.execute(status -> {
+            Team team = teamRepository.findById(update.getId()).orElseThrow();
+            team.getPlayers().clear();
+            teamRepository.save(team);
+            playerRepository.flush();
+            DtoConversionUtils.updateTeamFieldsFromDTO(team, update);
+            team.getPlayers().addAll(DtoConversionUtils.convertToPlayerList(update.getPlayers(), team));
+            return DtoConversionUtils.convertToTeamDTO(teamRepository.saveAndFlush(team));
+        });
+    }
+
+    // the salary alternates between two values so every invocation really changes the selected players
+    private TeamDTO nextRoster() {
+        double raise = invocation++ % 2 == 0 ? 1.0 : 0.0;
+        List<PlayerDTO> players = teamDTO.getPlayers();
+        for (int i = 0; i < changedPlayers; i++) {
+            PlayerDTO player = players.get(i);
+            player.setSalary(Math.floor(player.getSalary()) + raise);
+        }
+        return teamDTO;
+    }
+}
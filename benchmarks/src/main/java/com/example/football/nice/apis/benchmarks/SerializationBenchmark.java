@@ -0,0 +1,71 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson (de)serialization of a {@link TeamDTO} with its roster, as done for every team response and request body,
+ * in each negotiated format: JSON, CBOR and Smile. {@link #gzipTeam} is the CPU cost of response compression on
+ * top of serialization. The mappers are built like Spring Boot's, so annotations and features match the
+ * application. Payload sizes, raw and gzipped, are printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"11", "30", "1000"})
+    private int rosterSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private TeamDTO teamDTO;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        teamDTO = LeagueFixtures.team(1, rosterSize);
+        payload = objectMapper.writeValueAsBytes(teamDTO);
+        System.out.printf("%n%s, %d players: %d bytes, %d gzipped%n", format, rosterSize, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serializeTeam() throws IOException {
+        return objectMapper.writeValueAsBytes(teamDTO);
+    }
+
+    @Benchmark
+    public TeamDTO deserializeTeam() throws IOException {
+        return objectMapper.readValue(payload, TeamDTO.class);
+    }
+
+    @Benchmark
+    public byte[] gzipTeam() throws IOException {
+        return gzip(payload);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.util.NameSuggestIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one autocomplete lookup in {@link NameSuggestIndex}, with no Spring nor database, for an index of
+ * {@code names} player names. Covers a one-letter prefix (widest candidate set), a selective prefix, a full name,
+ * a typo that falls back to trigrams, and a query matching nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Lucas", "Hugo", "Théo", "Kylian", "Antoine", "Youssouf", "Jules",
+            "Moussa", "Mattéo", "Nabil", "Ibrahima", "Léo", "Adrien", "Khéphren", "Jean-Clair", "Rayan", "Enzo",
+            "Pablo", "Diego", "Sergio", "Marcos", "João", "Thiago", "Sadio", "Achraf", "Hakim", "Kalidou", "Malo"};
+    private static final String[] LAST_NAMES = {"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard",
+            "Petit", "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "Diallo",
+            "Traoré", "Koné", "Camara", "Silva", "Santos", "Fernández", "López", "González", "Benali", "El Amrani",
+            "Mendy", "Diop", "Ndiaye", "Fofana", "Todibo", "Thuram", "Boudaoui", "Dante", "Bulka", "Mbappé"};
+
+    @Param({"10000", "100000"})
+    private int names;
+
+    @Param({"k", "thur", "kylian mbappe", "mbape", "zzqx"})
+    private String query;
+
+    private NameSuggestIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new NameSuggestIndex();
+        Random random = new Random(42);
+        for (long id = 0; id < names; id++) {
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            // a second surname or a number widens the pool like real squads do
+            if (random.nextInt(3) == 0) {
+                lastName += "-" + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            }
+            index.put(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + lastName + " " + id);
+        }
+    }
+
+    @Benchmark
+    public List<NameSuggestIndex.Suggestion> suggest() {
+        return index.suggest(query, 10);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.football.nice.apis.benchmarks;
+
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import com.example.football.nice.apis.util.TeamJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A loaded team written as a response body: {@code viaDto} is the former path, {@link DtoConversionUtils#convertToTeamDTO}
+ * then Jackson's bean serializers; {@code viaEntityJsonWriter} writes the entity directly ({@link TeamJson}).
+ * Both write the same bytes into a reused buffer, so {@code gc.alloc.rate.norm} (the default {@code -prof gc})
+ * only counts what the serialization path itself allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamWriteBenchmark {
+
+    @Param({"11", "30", "1000"})
+    private int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private Team team;
+    private ByteArrayOutputStream body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        team = LeagueFixtures.teamEntity(1, rosterSize);
+        byte[] expected = objectMapper.writeValueAsBytes(DtoConversionUtils.convertToTeamDTO(team));
+        body = new ByteArrayOutputStream(expected.length * 2);
+        viaEntityJsonWriter();
+        if (!Arrays.equals(expected, body.toByteArray())) {
+            throw new IllegalStateException("EntityJsonWriter output differs from the TeamDTO output");
+        }
+    }
+
+    @Benchmark
+    public int viaDto() throws IOException {
+        body.reset();
+        objectMapper.writeValue(body, DtoConversionUtils.convertToTeamDTO(team));
+        return body.size();
+    }
+
+    @Benchmark
+    public int viaEntityJsonWriter() throws IOException {
+        body.reset();
+        objectMapper.writeValue(body, new TeamJson(team));
+        return body.size();
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.football.nice.apis.loadtest;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One load-test client. {@link #prepare} builds the request of an operation, issuing first the unmeasured calls
+ * it depends on (the GET that provides the body and ETag of a PUT, the POST that creates what a DELETE removes);
+ * {@link #complete} keeps what later requests need from the response: created ids and scroll cursors.
+ * Not thread-safe: one instance per client thread.
+ */
+final class ApiClient {
+
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+    private static final String JSON = "application/json";
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+    private static final int PAGE_SIZE = 10;
+    private static final int BULK_TEAMS = 5;
+    private static final int BULK_PLAYERS = 25;
+
+    private final HttpClient http;
+    private final URI base;
+    private final ObjectMapper objectMapper;
+    private final LeagueGenerator generator;
+    private final LeagueIds ids;
+    private final int playersPerTeam;
+    private final Random random;
+    private final Map<Operation, String> cursors = new EnumMap<>(Operation.class);
+
+    ApiClient(HttpClient http, URI base, ObjectMapper objectMapper, LeagueGenerator generator, LeagueIds ids,
+              int playersPerTeam, Random random) {
+        this.http = http;
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.generator = generator;
+        this.ids = ids;
+        this.playersPerTeam = playersPerTeam;
+        this.random = random;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    HttpRequest prepare(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LIST_TEAMS -> get("/api/teams?page=" + random.nextInt(Math.max(1, ids.teams() / PAGE_SIZE))
+                    + "&size=" + PAGE_SIZE, JSON);
+            case SCROLL_TEAMS -> get(scrollPath("/api/teams/scroll?size=" + PAGE_SIZE, operation), JSON);
+            case GET_TEAM -> get("/api/teams/" + ids.team(random), JSON);
+            case LIST_PLAYERS -> get("/api/players", JSON);
+            case STREAM_PLAYERS -> get("/api/players", "application/x-ndjson");
+            case SCROLL_PLAYERS -> get(scrollPath("/api/players/scroll?size=50", operation), JSON);
+            case GET_PLAYER -> get("/api/players/" + ids.player(random), JSON);
+            case CREATE_TEAM -> request("POST", "/api/teams", JSON, generator.team(playersPerTeam), null);
+            case BULK_TEAMS -> request("POST", "/api/teams/bulk", JSON, generator.league(BULK_TEAMS, playersPerTeam), null);
+            case UPDATE_TEAM -> updateTeam(ids.team(random));
+            case PATCH_TEAM -> request("PATCH", "/api/teams/" + ids.team(random), MERGE_PATCH,
+                    Map.of("budget", 10_000_000.0 + random.nextInt(90_000_000)), null);
+            case DELETE_TEAM -> request("DELETE", "/api/teams/" + createdTeam(), null, null, null);
+            case CREATE_PLAYER -> request("POST", "/api/players", JSON, newPlayer(), null);
+            case BULK_PLAYERS -> request("POST", "/api/players/bulk", JSON, newPlayers(), null);
+            case UPDATE_PLAYER -> updatePlayer(ids.player(random));
+            case PATCH_PLAYER -> request("PATCH", "/api/players/" + ids.player(random), MERGE_PATCH,
+                    Map.of("salary", 100_000.0 + random.nextInt(5_000_000)), null);
+            case DELETE_PLAYER -> request("DELETE", "/api/players/" + createdPlayer(), null, null, null);
+        };
+    }
+
+    /**
+     * Sends the request of the operation; this is the measured part.
+     */
+    HttpResponse<byte[]> execute(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    void complete(Operation operation, HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        switch (operation) {
+            case CREATE_TEAM -> ids.createdTeam(objectMapper.readTree(response.body()).get("id").asLong());
+            case CREATE_PLAYER -> ids.createdPlayer(objectMapper.readTree(response.body()).get("id").asLong());
+            case SCROLL_TEAMS, SCROLL_PLAYERS -> {
+                JsonNode next = objectMapper.readTree(response.body()).get("next");
+                if (next == null || next.isNull()) {
+                    cursors.remove(operation);
+                } else {
+                    cursors.put(operation, next.asText());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private String scrollPath(String firstPage, Operation operation) {
+        String cursor = cursors.get(operation);
+        return cursor == null ? firstPage : firstPage + "&after=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    // a PUT sends back the current team with one salary changed, under the ETag it was read with
+    private HttpRequest updateTeam(long id) throws IOException, InterruptedException {
+        HttpResponse<byte[]> current = call(get("/api/teams/" + id, JSON));
+        TeamDTO team = objectMapper.readValue(current.body(), TeamDTO.class);
+        if (team.getPlayers() == null || team.getPlayers().isEmpty()) {
+            team.setBudget(team.getBudget() + 1);
+        } else {
+            PlayerDTO player = team.getPlayers().get(random.nextInt(team.getPlayers().size()));
+            player.setSalary(player.getSalary() + 100);
+        }
+        return request("PUT", "/api/teams/" + id, JSON, team, current.headers().firstValue("ETag").orElse(null));
+    }
+
+    private HttpRequest updatePlayer(long id) throws IOException, InterruptedException {
+        HttpResponse<byte[]> current = call(get("/api/players/" + id, JSON));
+        PlayerDTO player = objectMapper.readValue(current.body(), PlayerDTO.class);
+        player.setSalary(player.getSalary() + 100);
+        return request("PUT", "/api/players/" + id, JSON, player, current.headers().firstValue("ETag").orElse(null));
+    }
+
+    private PlayerDTO newPlayer() {
+        PlayerDTO player = generator.player();
+        player.setTeamId(ids.team(random));
+        return player;
+    }
+
+    private List<PlayerDTO> newPlayers() {
+        List<PlayerDTO> players = new ArrayList<>(BULK_PLAYERS);
+        long teamId = ids.team(random);
+        for (int i = 0; i < BULK_PLAYERS; i++) {
+            PlayerDTO player = generator.player();
+            player.setTeamId(teamId);
+            players.add(player);
+        }
+        return players;
+    }
+
+    // deletes only remove what the run created; when nothing is left, one is created first, unmeasured
+    private long createdTeam() throws IOException, InterruptedException {
+        Long id = ids.takeCreatedTeam();
+        return id != null ? id : created(request("POST", "/api/teams", JSON, generator.team(playersPerTeam), null));
+    }
+
+    private long createdPlayer() throws IOException, InterruptedException {
+        Long id = ids.takeCreatedPlayer();
+        return id != null ? id : created(request("POST", "/api/players", JSON, newPlayer(), null));
+    }
+
+    private long created(HttpRequest create) throws IOException, InterruptedException {
+        return objectMapper.readTree(call(create).body()).get("id").asLong();
+    }
+
+    private HttpResponse<byte[]> call(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = execute(request);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path, String accept) {
+        return HttpRequest.newBuilder(base.resolve(path)).header("Authorization", AUTHORIZATION)
+                .header("Accept", accept).GET().build();
+    }
+
+    private HttpRequest request(String method, String path, String contentType, Object body, String ifMatch) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path)).header("Authorization", AUTHORIZATION);
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", contentType)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        }
+        if (ifMatch != null) {
+            request.header("If-Match", ifMatch);
+        }
+        return request.build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.football.nice.apis.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one client, kept raw so percentiles are exact, with the failed requests counted apart:
+ * conflicts (409 and 412, a concurrent writer won) and errors (anything else). Not thread-safe: one recorder
+ * per client thread, merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[4096];
+    private int count;
+    private long conflicts;
+    private long errors;
+
+    void record(long latencyNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+    }
+
+    /**
+     * Records a request by its outcome: its latency when it succeeded, otherwise a conflict or an error.
+     */
+    void record(int status, long latencyNanos) {
+        if (status / 100 == 2 || status == 304) {
+            record(latencyNanos);
+        } else if (status == 409 || status == 412) {
+            conflicts++;
+        } else {
+            errors++;
+        }
+    }
+
+    void error() {
+        errors++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long conflicts() {
+        return conflicts;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Sorted latencies of all recorders, in nanoseconds.
+     */
+    static long[] merge(Iterable<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.nanos, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
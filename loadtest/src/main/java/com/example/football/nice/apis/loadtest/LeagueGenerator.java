@@ -0,0 +1,144 @@
+package com.example.football.nice.apis.loadtest;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic league with the shape of a real one: squads of goalkeepers, defenders, midfielders and forwards in
+ * the usual proportions, unique shirt numbers per squad, ages from 17 to 36, a majority of French players, and
+ * salaries that grow with position and peak age with a long right tail, under a budget that leaves some room for
+ * signings, as the API enforces the budget cap. Player names are unique across
+ * everything a generator produces, as the API rejects a second player with the same first and last name.
+ * The same seed gives the same league. Thread-safe, so load-test clients can draw new teams and players from a
+ * shared instance while running.
+ */
+final class LeagueGenerator {
+
+    private static final String[] CITIES = {"Nice", "Lyon", "Marseille", "Lille", "Nantes", "Rennes", "Lens",
+            "Brest", "Reims", "Toulouse", "Montpellier", "Strasbourg", "Lorient", "Metz", "Auxerre", "Angers",
+            "Bordeaux", "Caen", "Dijon", "Grenoble", "Le Havre", "Sochaux", "Troyes", "Valenciennes"};
+    private static final String[] CLUB_PREFIXES = {"OGC", "Olympique", "AS", "FC", "Stade", "RC", "SC", "US", "AJ"};
+    private static final String[] FIRST_NAMES = {"Lucas", "Hugo", "Théo", "Kylian", "Antoine", "Youssouf", "Jules",
+            "Moussa", "Mattéo", "Nabil", "Ibrahima", "Léo", "Adrien", "Khéphren", "Jean-Clair", "Rayan", "Enzo",
+            "Pablo", "Diego", "Sergio", "Marcos", "João", "Thiago", "Sadio", "Achraf", "Hakim", "Kalidou", "Malo"};
+    private static final String[] LAST_NAMES = {"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard",
+            "Petit", "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "Diallo",
+            "Traoré", "Koné", "Camara", "Silva", "Santos", "Fernández", "López", "González", "Benali", "El Amrani",
+            "Mendy", "Diop", "Ndiaye", "Fofana", "Todibo", "Thuram", "Boudaoui", "Dante", "Bulka", "Rosario"};
+    private static final String[] NATIONALITIES = {"French", "Senegalese", "Moroccan", "Algerian", "Ivorian",
+            "Malian", "Brazilian", "Portuguese", "Spanish", "Argentinian", "Belgian", "Cameroonian"};
+    // cumulative weights of NATIONALITIES: about half of the players are French
+    private static final int[] NATIONALITY_WEIGHTS = {50, 58, 64, 69, 74, 78, 83, 87, 91, 94, 97, 100};
+    // squad slots by position, repeated for squads larger than 25
+    private static final String[] SQUAD = {"Goalkeeper", "Defender", "Defender", "Defender", "Defender",
+            "Midfielder", "Midfielder", "Midfielder", "Forward", "Forward", "Forward", "Goalkeeper", "Defender",
+            "Defender", "Defender", "Defender", "Midfielder", "Midfielder", "Midfielder", "Midfielder",
+            "Forward", "Forward", "Forward", "Goalkeeper", "Midfielder"};
+
+    private final AtomicInteger teamSequence = new AtomicInteger();
+    private final Set<String> playerNames = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Random> random;
+
+    LeagueGenerator(long seed) {
+        AtomicInteger streams = new AtomicInteger();
+        this.random = ThreadLocal.withInitial(() -> new Random(seed + 31L * streams.getAndIncrement()));
+    }
+
+    List<TeamDTO> league(int teams, int playersPerTeam) {
+        List<TeamDTO> league = new ArrayList<>(teams);
+        for (int t = 0; t < teams; t++) {
+            league.add(team(playersPerTeam));
+        }
+        return league;
+    }
+
+    /**
+     * A team with a unique name and a full squad.
+     */
+    TeamDTO team(int players) {
+        Random random = this.random.get();
+        int number = teamSequence.getAndIncrement();
+        String city = CITIES[number % CITIES.length];
+        TeamDTO team = new TeamDTO();
+        team.setName(CLUB_PREFIXES[random.nextInt(CLUB_PREFIXES.length)] + " " + city + " " + (number + 1));
+        team.setAcronym(city.substring(0, 3).toUpperCase(Locale.ROOT) + (number + 1));
+        List<PlayerDTO> squad = new ArrayList<>(players);
+        double payroll = 0;
+        for (int p = 0; p < players; p++) {
+            PlayerDTO player = player(SQUAD[p % SQUAD.length], p % 99 + 1);
+            payroll += player.getSalary();
+            squad.add(player);
+        }
+        team.setBudget(Math.round(payroll * (1.1 + random.nextDouble() * 0.5) / 100_000) * 100_000.0 + 1_000_000);
+        team.setPlayers(squad);
+        return team;
+    }
+
+    /**
+     * A free agent, with a random position and shirt number.
+     */
+    PlayerDTO player() {
+        Random random = this.random.get();
+        return player(SQUAD[random.nextInt(SQUAD.length)], 1 + random.nextInt(99));
+    }
+
+    private PlayerDTO player(String position, int jerseyNumber) {
+        Random random = this.random.get();
+        int age = 17 + (int) Math.min(19, Math.abs(random.nextGaussian() * 5 + 9));
+        PlayerDTO player = new PlayerDTO();
+        String firstName;
+        String lastName;
+        int attempt = 0;
+        do {
+            firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            // double-barrelled names widen the pool, and a suffix ends the search once it is nearly exhausted
+            if (random.nextInt(3) == 0) {
+                lastName += "-" + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            }
+            if (++attempt > 20) {
+                lastName += " " + attempt;
+            }
+        } while (!playerNames.add(firstName + ' ' + lastName));
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setPosition(position);
+        player.setJerseyNumber(jerseyNumber);
+        player.setAge(age);
+        player.setNationality(nationality(random));
+        player.setSize(String.format(Locale.ROOT, "%.2fm", 1.70 + random.nextGaussian() * 0.07
+                + (position.equals("Goalkeeper") ? 0.12 : 0)));
+        player.setSalary(salary(random, position, age));
+        return player;
+    }
+
+    private static String nationality(Random random) {
+        int draw = random.nextInt(100);
+        for (int i = 0; i < NATIONALITY_WEIGHTS.length; i++) {
+            if (draw < NATIONALITY_WEIGHTS[i]) {
+                return NATIONALITIES[i];
+            }
+        }
+        return NATIONALITIES[0];
+    }
+
+    // yearly salary in euros: log-normal around a median that depends on position and peaks at 27
+    private static double salary(Random random, String position, int age) {
+        double median = switch (position) {
+            case "Forward" -> 1_400_000;
+            case "Midfielder" -> 1_100_000;
+            case "Defender" -> 900_000;
+            default -> 600_000;
+        };
+        double ageFactor = 1 - Math.pow((age - 27) / 12.0, 2) * 0.7;
+        return Math.round(median * ageFactor * Math.exp(random.nextGaussian() * 0.8) / 100) * 100.0;
+    }
+}
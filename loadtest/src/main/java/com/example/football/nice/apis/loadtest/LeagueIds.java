@@ -0,0 +1,52 @@
+package com.example.football.nice.apis.loadtest;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Ids the clients work on. Reads and updates target the seeded league, which is never deleted, so a 404 is
+ * always a real error; deletes only consume teams and players created during the run.
+ */
+final class LeagueIds {
+
+    private final long[] teamIds;
+    private final long[] playerIds;
+    private final ConcurrentLinkedDeque<Long> createdTeamIds = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<Long> createdPlayerIds = new ConcurrentLinkedDeque<>();
+
+    LeagueIds(List<PlayerDTO> seededPlayers) {
+        this.playerIds = seededPlayers.stream().mapToLong(PlayerDTO::getId).toArray();
+        this.teamIds = seededPlayers.stream().mapToLong(PlayerDTO::getTeamId).distinct().toArray();
+    }
+
+    int teams() {
+        return teamIds.length;
+    }
+
+    long team(Random random) {
+        return teamIds[random.nextInt(teamIds.length)];
+    }
+
+    long player(Random random) {
+        return playerIds[random.nextInt(playerIds.length)];
+    }
+
+    void createdTeam(long id) {
+        createdTeamIds.add(id);
+    }
+
+    void createdPlayer(long id) {
+        createdPlayerIds.add(id);
+    }
+
+    Long takeCreatedTeam() {
+        return createdTeamIds.pollFirst();
+    }
+
+    Long takeCreatedPlayer() {
+        return createdPlayerIds.pollFirst();
+    }
+}
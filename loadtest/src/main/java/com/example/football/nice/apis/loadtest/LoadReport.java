@@ -0,0 +1,78 @@
+package com.example.football.nice.apis.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load test, written as JSON so two releases can be compared with a plain diff
+ * or a script. Latencies are in milliseconds over the successful requests; throughput counts successful
+ * requests per second of measurement.
+ */
+record LoadReport(String generatedAt, String javaVersion, int availableProcessors, Dataset dataset,
+                  int warmupSeconds, List<Run> runs) {
+
+    record Dataset(int teams, int playersPerTeam, long seed) {
+    }
+
+    record Run(String mode, String workload, int writePercent, int concurrency, int durationSeconds, Stats total,
+               Map<Operation, Stats> operations, long pinnedEvents, Map<String, Long> pinnedSites) {
+    }
+
+    record Stats(long requests, long conflicts, long errors, double throughput, Latency latencyMillis) {
+
+        static Stats of(List<LatencyRecorder> recorders, int seconds) {
+            long[] latencies = LatencyRecorder.merge(recorders);
+            long conflicts = recorders.stream().mapToLong(LatencyRecorder::conflicts).sum();
+            long errors = recorders.stream().mapToLong(LatencyRecorder::errors).sum();
+            return new Stats(latencies.length + conflicts + errors, conflicts, errors,
+                    round(latencies.length / (double) seconds), Latency.of(latencies));
+        }
+    }
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(long[] sorted) {
+            double mean = sorted.length == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+            return new Latency(round(mean), round(LatencyRecorder.percentileMillis(sorted, 50)),
+                    round(LatencyRecorder.percentileMillis(sorted, 90)), round(LatencyRecorder.percentileMillis(sorted, 99)),
+                    round(LatencyRecorder.percentileMillis(sorted, 99.9)), round(LatencyRecorder.percentileMillis(sorted, 100)));
+        }
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        String format = "%-9s %-11s %-15s %9s %7s %6s %9s %8s %8s %8s%n";
+        out.printf(format, "mode", "workload", "operation", "requests", "confl.", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Run run : runs) {
+            print(out, format, run, "TOTAL", run.total());
+            run.operations().forEach((operation, stats) -> print(out, format, run, operation.name(), stats));
+            if (run.pinnedEvents() > 0) {
+                out.printf("%-9s %-11s pinned %d times: %s%n", run.mode(), run.workload(), run.pinnedEvents(), run.pinnedSites());
+            }
+        }
+    }
+
+    private static void print(PrintStream out, String format, Run run, String operation, Stats stats) {
+        out.printf(format, run.mode(), run.workload(), operation, stats.requests(), stats.conflicts(), stats.errors(),
+                String.format("%.1f", stats.throughput()), stats.latencyMillis().p50(), stats.latencyMillis().p99(),
+                stats.latencyMillis().max());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.football.nice.apis.loadtest;
+
+import com.example.football.nice.apis.config.VirtualThreadPinningMonitor;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.service.BulkImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-loop HTTP load test: {@code concurrency} clients, each on its own virtual thread, send requests
+ * back to back for a fixed duration. Every run starts the application in the given thread mode on a fresh
+ * database seeded with a synthetic league ({@link LeagueGenerator}), then drives a read/write mix
+ * ({@link Workload}) over every team and player endpoint. Results go to the console and, as JSON, to
+ * {@code --output} ({@link LoadReport}).
+ *
+ * <pre>
+ * --modes=platform,virtual   thread modes to run, in order
+ * --workloads=mixed          read-only, read-heavy, mixed or write-heavy, comma-separated
+ * --concurrency=400          concurrent clients
+ * --warmup=10 --duration=30  seconds, the warmup is not measured
+ * --teams=200 --players=25   synthetic league size
+ * --seed=42                  same seed, same league and same request sequence per client
+ * --output=target/loadtest-report.json
+ * --spring.* / --server.* / --football.* / --logging.*   passed to the application
+ * </pre>
+ */
+public final class LoadTest {
+
+    private final List<ThreadMode> modes = new ArrayList<>();
+    private final List<Workload> workloads = new ArrayList<>();
+    private final List<String> applicationArgs = new ArrayList<>();
+    private int concurrency = 400;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 30;
+    private int teams = 200;
+    private int playersPerTeam = 25;
+    private long seed = 42;
+    private Path output = Path.of("target", "loadtest-report.json");
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest();
+        loadTest.parse(args);
+        List<LoadReport.Run> runs = new ArrayList<>();
+        for (ThreadMode mode : loadTest.modes) {
+            for (Workload workload : loadTest.workloads) {
+                runs.add(loadTest.run(mode, workload));
+            }
+        }
+        LoadReport report = new LoadReport(Instant.now().toString(), Runtime.version().toString(),
+                Runtime.getRuntime().availableProcessors(),
+                new LoadReport.Dataset(loadTest.teams, loadTest.playersPerTeam, loadTest.seed),
+                loadTest.warmupSeconds, runs);
+        report.print(System.out);
+        report.write(loadTest.output);
+        System.out.println("Report written to " + loadTest.output.toAbsolutePath());
+        System.exit(0);
+    }
+
+    private void parse(String[] args) {
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            String value = option.length > 1 ? option[1] : "";
+            switch (option[0]) {
+                case "modes" -> {
+                    for (String mode : value.split(",")) {
+                        modes.add(ThreadMode.of(mode));
+                    }
+                }
+                case "workloads" -> {
+                    for (String workload : value.split(",")) {
+                        workloads.add(Workload.of(workload));
+                    }
+                }
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "warmup" -> warmupSeconds = Integer.parseInt(value);
+                case "duration" -> durationSeconds = Integer.parseInt(value);
+                case "teams" -> teams = Integer.parseInt(value);
+                case "players" -> playersPerTeam = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "output" -> output = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (modes.isEmpty()) {
+            modes.addAll(List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL));
+        }
+        if (workloads.isEmpty()) {
+            workloads.add(Workload.MIXED);
+        }
+    }
+
+    private LoadReport.Run run(ThreadMode mode, Workload workload) throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestServer.start(mode, applicationArgs)) {
+            LeagueGenerator generator = new LeagueGenerator(seed);
+            System.out.printf("%s/%s: seeding %d teams of %d players%n", mode.label(), workload.label(), teams, playersPerTeam);
+            context.getBean(BulkImportService.class).importTeams(generator.league(teams, playersPerTeam));
+            LeagueIds ids = new LeagueIds(context.getBean(PlayerRepository.class).findAllAsDto());
+
+            URI base = URI.create("http://localhost:" + LoadTestServer.port(context));
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            List<ApiClient> clients = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(new ApiClient(http, base, objectMapper, generator, ids, playersPerTeam, new Random(seed + i)));
+            }
+
+            System.out.printf("%s/%s: warming up for %d s with %d clients%n", mode.label(), workload.label(), warmupSeconds, concurrency);
+            drive(clients, workload, warmupSeconds);
+            System.out.printf("%s/%s: measuring for %d s%n", mode.label(), workload.label(), durationSeconds);
+            List<Map<Operation, LatencyRecorder>> recorders = drive(clients, workload, durationSeconds);
+
+            Map<Operation, LoadReport.Stats> operations = new LinkedHashMap<>();
+            for (Operation operation : Operation.values()) {
+                List<LatencyRecorder> perOperation = recorders.stream().map(client -> client.get(operation)).toList();
+                if (perOperation.stream().anyMatch(recorder -> recorder.count() + recorder.conflicts() + recorder.errors() > 0)) {
+                    operations.put(operation, LoadReport.Stats.of(perOperation, durationSeconds));
+                }
+            }
+            LoadReport.Stats total = LoadReport.Stats.of(
+                    recorders.stream().flatMap(client -> client.values().stream()).toList(), durationSeconds);
+            Map<String, Long> pinnedSites = context.getBeanProvider(VirtualThreadPinningMonitor.class)
+                    .stream().findFirst().map(VirtualThreadPinningMonitor::getPinnedSites).orElseGet(TreeMap::new);
+            return new LoadReport.Run(mode.label(), workload.label(), workload.writePercent(), concurrency, durationSeconds,
+                    total, operations, pinnedSites.values().stream().mapToLong(Long::longValue).sum(), pinnedSites);
+        }
+    }
+
+    private List<Map<Operation, LatencyRecorder>> drive(List<ApiClient> clients, Workload workload, int seconds) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Map<Operation, LatencyRecorder>> recorders = new ArrayList<>(clients.size());
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ApiClient client : clients) {
+                Map<Operation, LatencyRecorder> byOperation = new EnumMap<>(Operation.class);
+                for (Operation operation : Operation.values()) {
+                    byOperation.put(operation, new LatencyRecorder());
+                }
+                recorders.add(byOperation);
+                threads.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = workload.next(client.random());
+                        LatencyRecorder recorder = byOperation.get(operation);
+                        try {
+                            HttpRequest request = client.prepare(operation);
+                            long start = System.nanoTime();
+                            HttpResponse<byte[]> response = client.execute(request);
+                            recorder.record(response.statusCode(), System.nanoTime() - start);
+                            client.complete(operation, response);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            recorder.error();
+                        }
+                    }
+                });
+            }
+        }
+        return recorders;
+    }
+}
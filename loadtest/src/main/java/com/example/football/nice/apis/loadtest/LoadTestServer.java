@@ -0,0 +1,40 @@
+package com.example.football.nice.apis.loadtest;
+
+import com.example.football.nice.apis.FootballNiceApisApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application in-process on a random port, in platform or virtual thread mode, against its own
+ * in-memory H2 database. Arguments given after the defaults win, so {@code --spring.datasource.url=...}
+ * points a run at PostgreSQL instead.
+ */
+final class LoadTestServer {
+
+    private LoadTestServer() {
+    }
+
+    static ConfigurableApplicationContext start(ThreadMode mode, List<String> applicationArgs) {
+        boolean virtual = mode == ThreadMode.VIRTUAL;
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode.label() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--football.diagnostics.pinning.enabled=" + virtual,
+                "--logging.level.root=WARN"));
+        args.addAll(applicationArgs);
+        return new SpringApplicationBuilder(FootballNiceApisApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
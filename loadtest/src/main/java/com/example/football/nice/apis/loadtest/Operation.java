@@ -0,0 +1,41 @@
+package com.example.football.nice.apis.loadtest;
+
+/**
+ * One request type of the workload, covering every endpoint of {@code TeamController} and {@code PlayerController}.
+ * The weight is relative to the other operations of the same kind.
+ */
+enum Operation {
+    LIST_TEAMS(false, 20),
+    SCROLL_TEAMS(false, 15),
+    GET_TEAM(false, 25),
+    LIST_PLAYERS(false, 1),
+    STREAM_PLAYERS(false, 1),
+    SCROLL_PLAYERS(false, 13),
+    GET_PLAYER(false, 25),
+    CREATE_TEAM(true, 8),
+    BULK_TEAMS(true, 1),
+    UPDATE_TEAM(true, 10),
+    PATCH_TEAM(true, 12),
+    DELETE_TEAM(true, 6),
+    CREATE_PLAYER(true, 15),
+    BULK_PLAYERS(true, 1),
+    UPDATE_PLAYER(true, 15),
+    PATCH_PLAYER(true, 20),
+    DELETE_PLAYER(true, 12);
+
+    private final boolean write;
+    private final int weight;
+
+    Operation(boolean write, int weight) {
+        this.write = write;
+        this.weight = weight;
+    }
+
+    boolean isWrite() {
+        return write;
+    }
+
+    int weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.football.nice.apis.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Thread model the application serves requests with, as set by {@code spring.threads.virtual.enabled}.
+ */
+enum ThreadMode {
+    PLATFORM,
+    VIRTUAL;
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static ThreadMode of(String label) {
+        return valueOf(label.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.football.nice.apis.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Read/write mix of a run: the share of write requests, the rest being reads. Within each kind, operations are
+ * drawn by their {@link Operation#weight()}.
+ */
+enum Workload {
+    READ_ONLY(0),
+    READ_HEAVY(5),
+    MIXED(20),
+    WRITE_HEAVY(50);
+
+    private static final Operation[] READS = expand(false);
+    private static final Operation[] WRITES = expand(true);
+
+    private final int writePercent;
+
+    Workload(int writePercent) {
+        this.writePercent = writePercent;
+    }
+
+    int writePercent() {
+        return writePercent;
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static Workload of(String label) {
+        return valueOf(label.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    Operation next(Random random) {
+        Operation[] operations = random.nextInt(100) < writePercent ? WRITES : READS;
+        return operations[random.nextInt(operations.length)];
+    }
+
+    // each operation repeated weight times, so a uniform draw follows the weights
+    private static Operation[] expand(boolean write) {
+        List<Operation> operations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            if (operation.isWrite() == write) {
+                for (int i = 0; i < operation.weight(); i++) {
+                    operations.add(operation);
+                }
+            }
+        }
+        return operations.toArray(Operation[]::new);
+    }
+}
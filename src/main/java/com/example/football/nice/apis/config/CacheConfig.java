@@ -0,0 +1,15 @@
+package com.example.football.nice.apis.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the in-process Caffeine caches configured under {@code spring.cache} in application.yml.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TEAMS = "teams";
+    public static final String PLAYERS = "players";
+}
@@ -0,0 +1,151 @@
+package com.example.football.nice.apis.config;
+
+import com.example.football.nice.apis.entity.ChangeLogEntry.EntityType;
+import com.example.football.nice.apis.entity.ChangeLogEntry.Operation;
+import com.example.football.nice.apis.entity.ChangeSequence;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appends every team and player insert, update and delete flushed by Hibernate, cascades and bulk imports
+ * included, to {@code change_log}. Changes are collected for the session, one per entity, and written just before
+ * the transaction commits: the {@code change_sequence} row is bumped by their number, which locks it until commit,
+ * so sequence numbers are handed out in commit order and a reader never sees a gap that fills up later.
+ * <p>
+ * The cost is that every write transaction queues on that row for the short time between its last flush and
+ * its commit. Updates of a team's roster totals alone are not logged, as clients do not see them.
+ */
+@Component
+public class ChangeLogListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String RESERVE = "UPDATE change_sequence SET last_seq = last_seq + ? WHERE id = " + ChangeSequence.ID;
+    private static final String CREATE = "INSERT INTO change_sequence (id, last_seq, compacted_seq) VALUES (" + ChangeSequence.ID + ", ?, 0)";
+    private static final String LAST = "SELECT last_seq FROM change_sequence WHERE id = " + ChangeSequence.ID;
+    private static final String INSERT = "INSERT INTO change_log (seq, entity_type, entity_id, operation, changed_at) "
+            + "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+    // team columns kept by RosterRules, see Team
+    private static final Set<String> TEAM_TOTALS = Set.of("playerCount", "payrollCents", "jerseyNumberCounts", "version");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<SharedSessionContractImplementor, Map<Change, Operation>> pending = new ConcurrentHashMap<>();
+
+    private record Change(EntityType type, Long id) {
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        add(event.getSession(), event.getEntity(), event.getId(), Operation.UPSERT);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Team && event.getDirtyProperties() != null) {
+            String[] names = event.getPersister().getPropertyNames();
+            if (Arrays.stream(event.getDirtyProperties()).allMatch(i -> TEAM_TOTALS.contains(names[i]))) {
+                return;
+            }
+        }
+        add(event.getSession(), event.getEntity(), event.getId(), Operation.UPSERT);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        add(event.getSession(), event.getEntity(), event.getId(), Operation.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void add(EventSource session, Object entity, Object id, Operation operation) {
+        EntityType type = entity instanceof Player ? EntityType.PLAYER : entity instanceof Team ? EntityType.TEAM : null;
+        if (type == null) {
+            return;
+        }
+        Map<Change, Operation> changes = pending.computeIfAbsent(session, s -> {
+            // registered again when reached, so that it runs after the other processes of the transaction: the
+            // sequence row is always locked last, after position_salary_summary, and writers cannot deadlock
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                    completing.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::apply));
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+            return new LinkedHashMap<>();
+        });
+        // the last change of the transaction wins: an update followed by a delete is a tombstone
+        changes.put(new Change(type, (Long) id), operation);
+    }
+
+    private void apply(SessionImplementor session) {
+        Map<Change, Operation> changes = pending.remove(session);
+        if (changes != null && !changes.isEmpty()) {
+            session.doWork(connection -> write(connection, changes));
+        }
+    }
+
+    private static void write(Connection connection, Map<Change, Operation> changes) throws SQLException {
+        try (PreparedStatement reserve = connection.prepareStatement(RESERVE)) {
+            reserve.setLong(1, changes.size());
+            if (reserve.executeUpdate() == 0) {
+                try (PreparedStatement create = connection.prepareStatement(CREATE)) {
+                    create.setLong(1, changes.size());
+                    create.executeUpdate();
+                }
+            }
+        }
+        long seq;
+        try (PreparedStatement last = connection.prepareStatement(LAST); ResultSet rows = last.executeQuery()) {
+            rows.next();
+            seq = rows.getLong(1) - changes.size();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (Map.Entry<Change, Operation> change : changes.entrySet()) {
+                insert.setLong(1, ++seq);
+                insert.setString(2, change.getKey().type().name());
+                insert.setLong(3, change.getKey().id());
+                insert.setString(4, change.getValue().name());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.football.nice.apis.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to controller responses. Message converters flush the
+ * body once written, which commits the response before its length is known, and Tomcat then compresses it whatever
+ * its size. Flushes are ignored here until the body reaches the threshold: a smaller body stays in the response
+ * buffer until the request completes, gets a {@code Content-Length} and is sent uncompressed. Larger bodies,
+ * NDJSON streams included, are flushed as usual, and so are bodies of a type Tomcat does not compress, such as
+ * the event stream, whose every flush must reach the client.
+ */
+@Component
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ServerProperties serverProperties;
+
+    private List<MediaType> compressedTypes;
+
+    @Override
+    protected void initFilterBean() {
+        compressedTypes = MediaType.parseMediaTypes(List.of(serverProperties.getCompression().getMimeTypes()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Compression compression = serverProperties.getCompression();
+        long threshold = compression.getMinResponseSize().toBytes();
+        // bodies larger than the response buffer are committed on overflow anyway
+        if (!compression.getEnabled() || threshold > response.getBufferSize()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        filterChain.doFilter(request, new ThresholdResponse(response, threshold));
+    }
+
+    private final class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private final long threshold;
+        private ThresholdOutputStream outputStream;
+
+        ThresholdResponse(HttpServletResponse response, long threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(this, super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (outputStream == null || outputStream.canFlush()) {
+                super.flushBuffer();
+            }
+        }
+
+        boolean compressible() {
+            String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            MediaType type = MediaType.parseMediaType(contentType);
+            return compressedTypes.stream().anyMatch(compressed -> compressed.isCompatibleWith(type));
+        }
+    }
+
+    private static final class ThresholdOutputStream extends ServletOutputStream {
+
+        private final ThresholdResponse response;
+        private final ServletOutputStream delegate;
+        private long written;
+
+        ThresholdOutputStream(ThresholdResponse response, ServletOutputStream delegate) {
+            this.response = response;
+            this.delegate = delegate;
+        }
+
+        boolean canFlush() {
+            return written >= response.threshold || !response.compressible();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            written += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (canFlush()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.football.nice.apis.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application data source in a datasource-proxy that reports every executed statement to
+ * {@link SqlRequestStatistics}. The pool stays reachable through {@link DataSource#unwrap}, which the
+ * connection pool metrics rely on.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new SqlRequestStatistics())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.football.nice.apis.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the work Hibernate does for the current request: JDBC statements prepared, entities loaded and lazy
+ * collections initialized on their own query. Only public extension points are used: statements are seen by
+ * {@link Inspector}, installed through {@code hibernate.session_factory.statement_inspector}, and loads by event
+ * listeners appended to the session factory. The counts are read by {@link RequestQueryMetricsFilter}.
+ * A request is followed on the thread that serves it, so work done by an async dispatch is not counted.
+ */
+@Component
+public class HibernateRequestStatistics implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * What one request made Hibernate do.
+     */
+    public static final class Counts {
+        private long statements;
+        private long entityLoads;
+        private long collectionFetches;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+
+        public long getCollectionFetches() {
+            return collectionFetches;
+        }
+    }
+
+    /**
+     * Sees every SQL statement Hibernate prepares and leaves it unchanged.
+     */
+    public static class Inspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            Counts counts = CURRENT.get();
+            if (counts != null) {
+                counts.statements++;
+            }
+            return sql;
+        }
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    /**
+     * Starts counting for the current thread.
+     */
+    public static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Stops counting for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionFetches++;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.football.nice.apis.config;
 
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.util.TeamJson;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.annotations.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
@@ -39,4 +42,9 @@ import org.springframework.context.annotation.Configuration;
         in = SecuritySchemeIn.HEADER
 )
 public class OpenApiConfig {
+
+    static {
+        // written by EntityJsonWriter with the TeamDTO representation
+        SpringDocUtils.getConfig().replaceWithClass(TeamJson.class, TeamDTO.class);
+    }
 }
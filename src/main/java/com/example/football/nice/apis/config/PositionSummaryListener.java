@@ -0,0 +1,210 @@
+package com.example.football.nice.apis.config;
+
+import com.example.football.nice.apis.entity.Player;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code position_salary_summary} in step with the player table. Every player insert, update and delete
+ * flushed by Hibernate, cascades and bulk imports included, adds its change to per-position deltas kept for the
+ * session; once the last flush is done and just before the transaction commits, the deltas are applied with one
+ * batched upsert, {@code INSERT ... ON CONFLICT (position) DO UPDATE SET x = x + EXCLUDED.x}, so a position seen
+ * for the first time by two transactions at once cannot fail on the primary key. The summary therefore commits
+ * or rolls back together with the players.
+ * <p>
+ * The cost is that concurrent writes to players of the same position queue on the summary row until commit.
+ * Disabled with {@code football.stats.summary.enabled=false}, in which case league figures are computed live.
+ */
+@Slf4j
+@Component
+public class PositionSummaryListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final String UPSERT = "INSERT INTO position_salary_summary "
+            + "(player_count, total_salary, salary_count, total_age, age_count, position) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (position) DO UPDATE SET "
+            + "player_count = position_salary_summary.player_count + EXCLUDED.player_count, "
+            + "total_salary = position_salary_summary.total_salary + EXCLUDED.total_salary, "
+            + "salary_count = position_salary_summary.salary_count + EXCLUDED.salary_count, "
+            + "total_age = position_salary_summary.total_age + EXCLUDED.total_age, "
+            + "age_count = position_salary_summary.age_count + EXCLUDED.age_count";
+    // H2, used by the tests and the load test, has no ON CONFLICT ... DO UPDATE
+    private static final String MERGE = "MERGE INTO position_salary_summary s USING (VALUES (?, ?, ?, ?, ?, ?)) "
+            + "AS d (player_count, total_salary, salary_count, total_age, age_count, position) ON s.position = d.position "
+            + "WHEN MATCHED THEN UPDATE SET player_count = s.player_count + d.player_count, "
+            + "total_salary = s.total_salary + d.total_salary, salary_count = s.salary_count + d.salary_count, "
+            + "total_age = s.total_age + d.total_age, age_count = s.age_count + d.age_count "
+            + "WHEN NOT MATCHED THEN INSERT (position, player_count, total_salary, salary_count, total_age, age_count) "
+            + "VALUES (d.position, d.player_count, d.total_salary, d.salary_count, d.total_age, d.age_count)";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${football.stats.summary.enabled:true}")
+    private boolean enabled;
+
+    private final Map<SharedSessionContractImplementor, Map<String, Delta>> pending = new ConcurrentHashMap<>();
+    private volatile int[] properties;
+
+    /**
+     * Change of the running totals of one position.
+     */
+    private static final class Delta {
+        long players;
+        double salary;
+        long salaries;
+        long age;
+        long ages;
+
+        boolean isZero() {
+            return players == 0 && salary == 0 && salaries == 0 && age == 0 && ages == 0;
+        }
+    }
+
+    @PostConstruct
+    void register() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Player) {
+            add(event.getSession(), event.getPersister(), event.getState(), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // updated without a loaded snapshot: the previous values are unknown, only a rebuild can tell
+            log.warn("Player {} updated without its previous state, position_salary_summary needs a rebuild", event.getId());
+            return;
+        }
+        int[] indexes = properties(event.getPersister());
+        if (Arrays.stream(indexes).allMatch(i -> Objects.equals(oldState[i], event.getState()[i]))) {
+            return;
+        }
+        add(event.getSession(), event.getPersister(), oldState, -1);
+        add(event.getSession(), event.getPersister(), event.getState(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Player) {
+            add(event.getSession(), event.getPersister(), event.getDeletedState(), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void add(EventSource session, EntityPersister persister, Object[] state, int sign) {
+        int[] indexes = properties(persister);
+        // only players who belong to a team count, free agents are on no payroll
+        if (state[indexes[3]] == null) {
+            return;
+        }
+        Map<String, Delta> deltas = pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::apply);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+            return new TreeMap<>();
+        });
+        Delta delta = deltas.computeIfAbsent((String) state[indexes[0]], position -> new Delta());
+        Double salary = (Double) state[indexes[1]];
+        Integer age = (Integer) state[indexes[2]];
+        delta.players += sign;
+        if (salary != null) {
+            delta.salary += sign * salary;
+            delta.salaries += sign;
+        }
+        if (age != null) {
+            delta.age += (long) sign * age;
+            delta.ages += sign;
+        }
+    }
+
+    private void apply(SessionImplementor session) {
+        Map<String, Delta> deltas = pending.remove(session);
+        if (deltas == null) {
+            return;
+        }
+        deltas.values().removeIf(Delta::isZero);
+        if (!deltas.isEmpty()) {
+            session.doWork(connection -> write(connection, deltas));
+        }
+    }
+
+    // positions are written in sorted order, so two transactions lock the rows they share in the same order
+    private static void write(Connection connection, Map<String, Delta> deltas) throws SQLException {
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        try (PreparedStatement upsert = connection.prepareStatement(postgres ? UPSERT : MERGE)) {
+            for (Map.Entry<String, Delta> delta : deltas.entrySet()) {
+                bind(upsert, delta.getKey(), delta.getValue());
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, String position, Delta delta) throws SQLException {
+        statement.setLong(1, delta.players);
+        statement.setDouble(2, delta.salary);
+        statement.setLong(3, delta.salaries);
+        statement.setLong(4, delta.age);
+        statement.setLong(5, delta.ages);
+        statement.setString(6, position);
+    }
+
+    // indexes of position, salary, age and team in the entity state arrays
+    private int[] properties(EntityPersister persister) {
+        int[] indexes = properties;
+        if (indexes == null) {
+            List<String> names = List.of(persister.getPropertyNames());
+            indexes = new int[]{names.indexOf("position"), names.indexOf("salary"), names.indexOf("age"), names.indexOf("team")};
+            properties = indexes;
+        }
+        return indexes;
+    }
+}
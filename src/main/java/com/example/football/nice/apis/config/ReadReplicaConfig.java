@@ -0,0 +1,93 @@
+package com.example.football.nice.apis.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replaces the single data source with a {@link ReplicaRoutingDataSource} when read replicas are listed under
+ * {@code football.datasource.replicas} ({@code url}, {@code username}, {@code password}, optionally
+ * {@code driver-class-name}). The primary is still configured by {@code spring.datasource}, and every pool takes
+ * the {@code spring.datasource.hikari} settings. Pools are named {@code primary} (unless
+ * {@code spring.datasource.hikari.pool-name} says otherwise), {@code replica-0}, {@code replica-1}... in their
+ * {@code hikaricp_*} metrics, which are wired here: the routing proxy hides the pools from Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "football.datasource.replicas[0]", name = "url")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${football.datasource.replica-reads:TeamService,PlayerService}") Set<String> services,
+                                 @Value("${football.datasource.primary-reads:TeamService.getTeamById,TeamService.getTeamETag,PlayerService.getPlayerById,PlayerService.getPlayerETag}")
+                                 Set<String> primaryReads) {
+        Binder binder = Binder.get(environment);
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        List<HikariDataSource> pools = new ArrayList<>();
+        HikariDataSource primary = pool(properties, binder);
+        if (primary.getPoolName() == null) {
+            primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        pools.add(primary);
+
+        List<DataSourceProperties> replicaProperties = binder.bind("football.datasource.replicas",
+                Bindable.listOf(DataSourceProperties.class)).orElse(List.of());
+        List<String> replicas = new ArrayList<>();
+        for (DataSourceProperties replicaProperty : replicaProperties) {
+            HikariDataSource replica = pool(replicaProperty, binder);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            targets.put(replica.getPoolName(), replica);
+            replicas.add(replica.getPoolName());
+            pools.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicas, services, primaryReads, meterRegistry);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new RoutingDataSourceProxy(routing, pools);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+
+    // closes the pools with the context, which a plain LazyConnectionDataSourceProxy does not
+    private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final List<HikariDataSource> pools;
+
+        RoutingDataSourceProxy(DataSource routing, List<HikariDataSource> pools) {
+            super(routing);
+            this.pools = pools;
+        }
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.football.nice.apis.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the read-only transactions started by the configured services to the replica pools, in turn, and
+ * everything else to the primary. A transaction is told apart by its name, the method that started it, so a
+ * read-only repository call from elsewhere (e.g. the suggestion index loaded at startup, which must not miss a
+ * write) stays on the primary. So do the listed primary reads, e.g. those whose result is cached: a row read on a
+ * lagging replica would stay in the shared cache, and be served to every client, the writer included. Requests of a
+ * client that just wrote are pinned to the primary for a while, see {@link ReplicaStickinessFilter}.
+ * <p>
+ * The transaction is only known once it has begun, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the choice to the first
+ * statement. Connections handed out per route are counted in {@code football.datasource.route}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final List<String> replicas;
+    private final Set<String> services;
+    private final Set<String> primaryReads;
+    private final Map<String, Counter> routes = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param services     simple class names of the services whose read-only transactions may go to a replica
+     * @param primaryReads {@code Service.method} names of the read-only transactions that must stay on the primary
+     */
+    public ReplicaRoutingDataSource(List<String> replicas, Set<String> services, Set<String> primaryReads,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.services = Set.copyOf(services);
+        this.primaryReads = Set.copyOf(primaryReads);
+        for (String route : this.replicas) {
+            routes.put(route, counter(route, meterRegistry));
+        }
+        routes.put(PRIMARY, counter(PRIMARY, meterRegistry));
+    }
+
+    /**
+     * Sends every transaction of the current thread to the primary, until {@link #unpin()}.
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String route = PRIMARY;
+        if (!replicas.isEmpty() && PINNED.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            String method = method(TransactionSynchronizationManager.getCurrentTransactionName());
+            if (method != null && services.contains(method.substring(0, method.indexOf('.'))) && !primaryReads.contains(method)) {
+                route = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            }
+        }
+        routes.get(route).increment();
+        return route;
+    }
+
+    // "Service.method" of "com.example.Service.method"
+    private static String method(String transactionName) {
+        if (transactionName == null) {
+            return null;
+        }
+        int method = transactionName.lastIndexOf('.');
+        return method < 0 ? null : transactionName.substring(transactionName.lastIndexOf('.', method - 1) + 1);
+    }
+
+    private static Counter counter(String route, MeterRegistry meterRegistry) {
+        return Counter.builder("football.datasource.route")
+                .description("Connections handed out by the routing data source, by route")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.football.nice.apis.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes over asynchronous replicas: once a client has sent a write, its requests go to the primary
+ * for {@code football.datasource.sticky-window}, long enough for the replicas to catch up. Clients are told apart
+ * by their user name, or their address when anonymous.
+ * <p>
+ * Recent writers are only known to the instance that served the write. Behind a load balancer, the window only holds
+ * for a client whose requests stick to one instance (session affinity on the user or address); elsewhere its reads
+ * may go to a replica right away.
+ */
+@Component
+@ConditionalOnProperty(prefix = "football.datasource.replicas[0]", name = "url")
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaStickinessFilter(@Value("${football.datasource.sticky-window:5s}") Duration stickyWindow) {
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(stickyWindow).maximumSize(100_000).build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : request.getRemoteAddr();
+        boolean write = !READS.contains(request.getMethod());
+        if (write || recentWriters.getIfPresent(client) != null) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+            // the window starts once the write is committed
+            if (write) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+}
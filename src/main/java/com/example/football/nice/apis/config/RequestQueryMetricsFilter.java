@@ -0,0 +1,113 @@
+package com.example.football.nice.apis.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, for every request handled by a controller, the database work it caused, tagged like
+ * {@code http.server.requests} (method and URI template):
+ * <ul>
+ *     <li>{@code hibernate.request.*}: statements prepared, entities loaded and collections fetched by Hibernate;</li>
+ *     <li>{@code jdbc.request.statements} and {@code jdbc.request.time}: statements executed and time spent in JDBC;</li>
+ *     <li>{@code jdbc.request.repeated}: statement shapes run at least {@code football.diagnostics.sql.repeated-threshold}
+ *     times in one request, each also logged as a possible N+1 query.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    // bucket bounds of the per-request distributions
+    private static final double[] BUCKETS = {1, 2, 3, 5, 10, 20, 50, 100, 200, 500};
+    private static final int LOGGED_SQL_LENGTH = 300;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${football.diagnostics.sql.repeated-threshold:5}")
+    private int repeatedThreshold;
+
+    @Value("${football.diagnostics.sql.debug-header:false}")
+    private boolean debugHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HibernateRequestStatistics.Counts hibernate = HibernateRequestStatistics.begin();
+        SqlRequestStatistics.Counts sql = SqlRequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            HibernateRequestStatistics.end();
+            SqlRequestStatistics.end();
+            // responses with a body already carry the headers, see SqlDebugHeaderAdvice
+            if (debugHeader && !response.isCommitted()) {
+                sql.headers(repeatedThreshold).forEach(response::setHeader);
+            }
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (uri != null) {
+                record(request, uri.toString(), hibernate, sql);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, String uri, HibernateRequestStatistics.Counts hibernate,
+                        SqlRequestStatistics.Counts sql) {
+        String method = request.getMethod();
+        summary("hibernate.request.statements", "JDBC statements prepared by a request", method, uri)
+                .record(hibernate.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded by a request", method, uri)
+                .record(hibernate.getEntityLoads());
+        summary("hibernate.request.collection.fetches", "Collections fetched by a request with their own query", method, uri)
+                .record(hibernate.getCollectionFetches());
+        summary("jdbc.request.statements", "JDBC statements executed by a request", method, uri)
+                .record(sql.getStatements());
+        Timer.builder("jdbc.request.time")
+                .description("Time spent executing JDBC statements in a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(sql.getNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = sql.getRepeated(repeatedThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("jdbc.request.repeated")
+                    .description("Statement shapes repeated within a request, likely N+1 queries")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment(repeated.size());
+            repeated.forEach((shape, count) -> log.warn("Possible N+1 query on {} {}: {} executions of {}",
+                    method, uri, count, abbreviate(shape)));
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= LOGGED_SQL_LENGTH ? sql : sql.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+}
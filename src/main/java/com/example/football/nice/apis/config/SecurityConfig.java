@@ -1,28 +1,58 @@
 package com.example.football.nice.apis.config;
 
+import com.example.football.nice.apis.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Autowired
+    private TokenService tokenService;
+
+    /**
+     * Tokens are only issued against a password: a bearer token cannot mint its successor, so a token and the
+     * roles it carries never outlive {@code football.security.jwt.ttl}.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain tokenIssuingFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/api/auth/token")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().authenticated())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults());  // Basic only, no TokenAuthenticationFilter
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)  // Disable CSRF protection for the API
                 .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/actuator/health").permitAll()  // Liveness checks stay anonymous
                         .requestMatchers("/api/**",
-                                "/swagger-ui.html"
-                                ).authenticated()  // Secure all API endpoints
+                                "/swagger-ui.html",
+                                "/actuator/**"
+                                ).authenticated()  // Secure all API endpoints and the metrics
                         .anyRequest().permitAll()  // Allow public access to other endpoints
                 )
-                .httpBasic(Customizer.withDefaults());  // Use Basic Auth
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)  // Bearer tokens from /api/auth/token
+                .httpBasic(Customizer.withDefaults());  // Use Basic Auth otherwise
 
         return http.build();
     }
@@ -0,0 +1,42 @@
+package com.example.football.nice.apis.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * When {@code football.diagnostics.sql.debug-header} is on, adds the SQL counts of the request to the response
+ * just before its body is written, once the controller is done with the database:
+ * {@code X-SQL-Statements}, {@code X-SQL-Time-Ms} and {@code X-SQL-Repeated} (number of statement shapes repeated
+ * up to the N+1 threshold). Responses without a body get them from {@link RequestQueryMetricsFilter}.
+ */
+@ControllerAdvice
+public class SqlDebugHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${football.diagnostics.sql.debug-header:false}")
+    private boolean enabled;
+
+    @Value("${football.diagnostics.sql.repeated-threshold:5}")
+    private int repeatedThreshold;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStatistics.Counts counts = SqlRequestStatistics.current();
+        if (counts != null) {
+            counts.headers(repeatedThreshold).forEach(response.getHeaders()::set);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.football.nice.apis.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts, at the JDBC level, the statements executed by the current request and the time spent in them, and
+ * how many times each statement shape ran. Hibernate sends parameterized SQL, so two executions of the same shape
+ * differ only by their bind values: one shape repeated many times in a request is the signature of an N+1 query.
+ * It listens on the proxy installed by {@link DataSourceProxyPostProcessor}; the counts are read by
+ * {@link RequestQueryMetricsFilter} and {@link SqlDebugHeaderAdvice}.
+ */
+public class SqlRequestStatistics implements QueryExecutionListener {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String REPEATED_HEADER = "X-SQL-Repeated";
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+    private static final String STARTED_AT = "football.startedAt";
+
+    /**
+     * What one request executed. A JDBC batch counts as one statement.
+     */
+    public static final class Counts {
+        private long statements;
+        private long nanos;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Statement shapes executed at least {@code threshold} times, with their count.
+         */
+        public Map<String, Integer> getRepeated(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            shapes.forEach((shape, count) -> {
+                if (count >= threshold) {
+                    repeated.put(shape, count);
+                }
+            });
+            return repeated;
+        }
+
+        /**
+         * Debug response headers describing these counts.
+         */
+        public Map<String, String> headers(int repeatedThreshold) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put(STATEMENTS_HEADER, String.valueOf(statements));
+            headers.put(TIME_HEADER, String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+            headers.put(REPEATED_HEADER, String.valueOf(getRepeated(repeatedThreshold).size()));
+            return headers;
+        }
+    }
+
+    /**
+     * Starts counting for the current thread.
+     */
+    public static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Counts of the current thread, or {@code null} outside of a request.
+     */
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops counting for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The start time is kept on the statement's own {@link ExecutionInfo}, not on the request's counts, so each
+     * duration runs from that statement's {@code beforeQuery} whatever else the request executes meanwhile.
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (CURRENT.get() != null) {
+            execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+            if (startedAt != null) {
+                counts.nanos += System.nanoTime() - startedAt;
+            }
+            counts.statements++;
+            for (QueryInfo queryInfo : queryInfoList) {
+                counts.shapes.merge(queryInfo.getQuery(), 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.football.nice.apis.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Adds {@code Vary: Accept} to every API response, {@code 304 Not Modified} included: the body is JSON, CBOR or
+ * Smile depending on {@code Accept} (see {@link BinaryFormatsConfig}), so a browser or shared cache must store one
+ * response per format. The header is set before the controller runs, so it is there even if the response is
+ * committed early; Tomcat adds {@code Accept-Encoding} to it when it compresses.
+ */
+@Component
+public class VaryAcceptFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.football.nice.apis.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process and reports where virtual threads stay pinned
+ * to their carrier: blocking inside a {@code synchronized} block or a native frame holds the carrier thread, so
+ * enough of them in the JDBC or Hibernate path silently turn virtual threads back into a small platform pool.
+ * Each event is attributed to its first frame in the driver, the pool, Hibernate or this application, which is
+ * where a fix (a lock instead of {@code synchronized}, a newer driver) has to happen. The total is also exported
+ * as the {@code jvm.threads.virtual.pinned} counter.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "football.diagnostics.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final List<String> ATTRIBUTED_PACKAGES = List.of(
+            "org.postgresql.", "org.h2.", "com.zaxxer.hikari.", "org.hibernate.", "com.example.football.");
+    private static final int LOGGED_FRAMES = 12;
+
+    @Value("${football.diagnostics.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+    private Counter pinnedCounter;
+    private RecordingStream recording;
+
+    @PostConstruct
+    void start() {
+        pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Watching virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        recording.close();
+    }
+
+    /**
+     * Number of pinning events seen so far, by attributed frame.
+     */
+    public Map<String, Long> getPinnedSites() {
+        return pinnedSites.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(), Long::sum, TreeMap::new));
+    }
+
+    public long getPinnedCount() {
+        return pinnedSites.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = pinningSite(stackTrace);
+        pinnedSites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        pinnedCounter.increment();
+        log.warn("Virtual thread pinned to its carrier for {} ms at {}", event.getDuration().toMillis(), site);
+        if (log.isDebugEnabled() && stackTrace != null) {
+            log.debug("Pinned stack:\n\t{}", stackTrace.getFrames().stream().limit(LOGGED_FRAMES)
+                    .map(VirtualThreadPinningMonitor::describe).collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    static String pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (ATTRIBUTED_PACKAGES.stream().anyMatch(type::startsWith)) {
+                return describe(frame);
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
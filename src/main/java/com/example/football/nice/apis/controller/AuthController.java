@@ -0,0 +1,39 @@
+package com.example.football.nice.apis.controller;
+
+import com.example.football.nice.apis.dto.TokenDTO;
+import com.example.football.nice.apis.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * AuthController délivre les jetons d'accès qui remplacent l'authentification Basic sur l'API.
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    @Autowired
+    private TokenService tokenService;
+    /**
+     * Délivre un jeton signé à l'utilisateur authentifié (Basic), valable {@code football.security.jwt.ttl}.
+     * Les requêtes suivantes l'envoient dans {@code Authorization: Bearer <jeton>} et ne repassent plus par
+     * la vérification du mot de passe. Seule l'authentification Basic est acceptée ici : un jeton ne permet pas
+     * d'en obtenir un nouveau.
+     *
+     * @param authentication l'utilisateur authentifié.
+     * @return ResponseEntity contenant le jeton et sa durée de validité en secondes.
+     */
+    @PostMapping("/token")
+    public ResponseEntity<TokenDTO> issueToken(Authentication authentication) {
+        TokenDTO token = new TokenDTO();
+        token.setAccessToken(tokenService.issue(authentication));
+        token.setTokenType("Bearer");
+        token.setExpiresIn(tokenService.getTtl().toSeconds());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(token);
+    }
+}
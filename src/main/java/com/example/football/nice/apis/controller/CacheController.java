@@ -0,0 +1,47 @@
+package com.example.football.nice.apis.controller;
+
+import com.example.football.nice.apis.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CacheController expose les compteurs des caches d'équipes et de joueurs.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+    /**
+     * Récupère les compteurs (succès, échecs, évictions) de chaque cache.
+     *
+     * @return ResponseEntity contenant les compteurs par nom de cache.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStatsDTO>> getCacheStats() {
+        Map<String, CacheStatsDTO> stats = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats nativeStats = cache.getNativeCache().stats();
+                CacheStatsDTO dto = new CacheStatsDTO();
+                dto.setSize(cache.getNativeCache().estimatedSize());
+                dto.setHits(nativeStats.hitCount());
+                dto.setMisses(nativeStats.missCount());
+                dto.setHitRate(nativeStats.hitRate());
+                dto.setEvictions(nativeStats.evictionCount());
+                stats.put(name, dto);
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
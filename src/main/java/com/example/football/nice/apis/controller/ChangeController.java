@@ -0,0 +1,40 @@
+package com.example.football.nice.apis.controller;
+
+import com.example.football.nice.apis.dto.ChangesPageDTO;
+import com.example.football.nice.apis.service.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ChangeController permet aux clients de se synchroniser par différence : seuls les équipes et joueurs modifiés
+ * depuis leur dernière synchronisation sont renvoyés.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    /**
+     * Récupère les changements validés après le numéro de séquence donné : l'état courant de chaque équipe
+     * (sans ses joueurs) et de chaque joueur créé ou modifié, et une entrée {@code DELETE} pour chaque suppression.
+     * Le client conserve {@code next} et le renvoie en {@code since} à la synchronisation suivante ; tant que
+     * {@code hasMore} est vrai, il redemande aussitôt la suite. Avec {@code since=0}, la réponse est une copie
+     * complète des données. Si des changements postérieurs à {@code since} ont été compactés, la réponse est
+     * {@code 410 Gone} et le client repart de 0.
+     *
+     * @param since le dernier numéro de séquence reçu, 0 pour une première synchronisation.
+     * @param limit le nombre maximal d'entrées du journal lues (1000 au plus).
+     * @return ResponseEntity contenant la page de changements.
+     */
+    @GetMapping
+    public ResponseEntity<ChangesPageDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.football.nice.apis.controller;
+
+import com.example.football.nice.apis.service.RosterEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * EventController diffuse en Server-Sent Events les changements d'équipes et de joueurs, une fois validés en base.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private RosterEventBroadcaster broadcaster;
+
+    @Value("${football.events.timeout:30m}")
+    private Duration timeout;
+
+    /**
+     * Ouvre un flux d'événements : équipe créée, modifiée ou supprimée, joueur créé, modifié, transféré ou supprimé.
+     * Chaque événement porte un identifiant croissant, son type en nom d'événement et ses données en JSON.
+     * Le flux est fermé après {@code football.events.timeout}, ou plus tôt si le client ne suit pas le rythme :
+     * le client se reconnecte alors et relit l'état courant.
+     *
+     * @param teamId les équipes à suivre (paramètre répétable), toutes si absent. Un transfert est reçu par les
+     *               abonnés de l'équipe quittée comme de l'équipe rejointe.
+     * @return le flux d'événements.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) List<Long> teamId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        broadcaster.subscribe(emitter, teamId);
+        return emitter;
+    }
+}
@@ -1,22 +1,58 @@
 package com.example.football.nice.apis.controller;
 
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.CursorPageDTO;
 import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.PlayerSearchCriteria;
+import com.example.football.nice.apis.dto.SuggestionDTO;
+import com.example.football.nice.apis.service.BulkImportService;
 import com.example.football.nice.apis.service.PlayerService;
+import com.example.football.nice.apis.service.SuggestionService;
+import com.example.football.nice.apis.util.ETagUtils;
+import com.example.football.nice.apis.util.EntityJsonWriter;
+import com.example.football.nice.apis.util.MergePatchUtils;
+import com.example.football.nice.apis.util.RepresentationFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
  * PlayerController gère les endpoints REST pour les opérations CRUD sur les joueurs.
+ * Les corps sont en JSON par défaut, ou en CBOR et Smile selon les en-têtes Accept et Content-Type (voir BinaryFormatsConfig).
+ * Chaque format a ses propres ETags (voir RepresentationFormat).
  */
 @RestController
 @RequestMapping("/api/players")
 public class PlayerController {
 
+    /**
+     * Nombre de joueurs écrits entre deux flush du flux NDJSON.
+     */
+    private static final int NDJSON_FLUSH_INTERVAL = 100;
+
     @Autowired
     private PlayerService playerService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     /**
      * Récupère la liste de tous les joueurs.
      *
@@ -27,50 +63,171 @@ public class PlayerController {
         List<PlayerDTO> players = playerService.getAllPlayers();
         return ResponseEntity.ok(players);
     }
+    /**
+     * Exporte tous les joueurs au format NDJSON (un objet JSON par ligne).
+     * Chaque joueur est écrit dès sa lecture en base, champ par champ (EntityJsonWriter) : la mémoire reste constante
+     * quel que soit le nombre de joueurs et le premier octet part sans attendre la fin de la requête.
+     *
+     * @return ResponseEntity contenant le flux NDJSON des joueurs.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllPlayers() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                playerService.streamAllPlayers(player -> {
+                    try {
+                        EntityJsonWriter.writePlayer(generator, player);
+                        generator.writeRaw('\n');
+                        if (++written[0] % NDJSON_FLUSH_INTERVAL == 1) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    /**
+     * Récupère une page de joueurs par curseur (pagination keyset).
+     * Le coût d'une page ne dépend pas de sa profondeur : la requête reprend après la dernière clé de tri renvoyée.
+     *
+     * @param after  le curseur opaque renvoyé dans {@code next} par la page précédente, absent pour la première page.
+     * @param size   le nombre d'éléments par page.
+     * @param sortBy le champ sur lequel trier les résultats (id, lastName, firstName ou position).
+     * @return ResponseEntity contenant la page de joueurs et le curseur de la page suivante.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<PlayerDTO>> getPlayersAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sortBy) {
+        CursorPageDTO<PlayerDTO> players = playerService.getPlayersAfter(after, size, sortBy);
+        return ResponseEntity.ok(players);
+    }
+    /**
+     * Recherche des joueurs selon des critères combinables (poste, nationalité, âge, salaire, équipe, numéro),
+     * page par page dans l'ordre des identifiants. Chaque critère s'appuie sur un index composite, si bien que le
+     * coût d'une page dépend du nombre de joueurs trouvés et non de la taille de la table.
+     *
+     * @param criteria les filtres : position, nationality, minAge, maxAge, minSalary, maxSalary, teamId, jerseyNumber.
+     * @param after    le curseur opaque renvoyé dans {@code next} par la page précédente, absent pour la première page.
+     * @param size     le nombre d'éléments par page.
+     * @return ResponseEntity contenant la page de joueurs et le curseur de la page suivante.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<PlayerDTO>> searchPlayers(
+            PlayerSearchCriteria criteria,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPageDTO<PlayerDTO> players = playerService.searchPlayers(criteria, after, size);
+        return ResponseEntity.ok(players);
+    }
+    /**
+     * Suggère des joueurs dont le nom commence par la saisie ou s'en approche (fautes de frappe, accents).
+     * Répond depuis un index en mémoire, sans requête en base.
+     *
+     * @param q     le début du prénom et/ou du nom saisi.
+     * @param limit le nombre maximal de suggestions (50 au plus).
+     * @return ResponseEntity contenant les suggestions, les meilleures en premier.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestPlayers(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionService.suggestPlayers(q, limit));
+    }
     /**
      * Récupère un joueur par son ID.
+     * Si l'en-tête If-None-Match correspond aux versions courantes du joueur et de son équipe, répond 304 :
+     * renommer l'équipe change donc l'ETag, puisque le joueur porte le nom de son équipe.
      *
-     * @param id l'identifiant du joueur.
-     * @return ResponseEntity contenant le joueur correspondant à l'ID fourni.
+     * @param id      l'identifiant du joueur.
+     * @param request la requête, pour la vérification de l'ETag.
+     * @return ResponseEntity contenant le joueur correspondant à l'ID fourni et son ETag.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id) {
+    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id, WebRequest request) {
+        String eTag = RepresentationFormat.of(request.getHeader(HttpHeaders.ACCEPT)).tag(playerService.getPlayerETag(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        // the ETag read above, not the one of the cached body, whose team version may be older
         PlayerDTO player = playerService.getPlayerById(id);
-        return ResponseEntity.ok(player);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(player);
     }
     /**
      * Crée un nouveau joueur.
      *
      * @param playerDTO les informations du joueur à créer.
+     * @param accept    le format de réponse demandé, dont dépend l'ETag.
      * @return ResponseEntity contenant le joueur créé.
      */
     @PostMapping
-    public ResponseEntity<PlayerDTO> createPlayer(@RequestBody PlayerDTO playerDTO) {
+    public ResponseEntity<PlayerDTO> createPlayer(@RequestBody PlayerDTO playerDTO,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         PlayerDTO createdPlayer = playerService.createPlayer(playerDTO);
-        return ResponseEntity.ok(createdPlayer);
+        return ResponseEntity.ok().eTag(RepresentationFormat.of(accept).tag(ETagUtils.forPlayer(createdPlayer))).body(createdPlayer);
+    }
+    /**
+     * Importe un lot de joueurs en une seule requête.
+     * Les lignes invalides sont rejetées individuellement, les autres sont insérées par paquets JDBC.
+     *
+     * @param playerDTOs les joueurs à créer.
+     * @return ResponseEntity contenant le nombre de joueurs créés et les erreurs par ligne.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResultDTO> importPlayers(@RequestBody List<PlayerDTO> playerDTOs) {
+        BulkImportResultDTO result = bulkImportService.importPlayers(playerDTOs);
+        return ResponseEntity.ok(result);
     }
     /**
      * Met à jour un joueur existant.
+     * Avec l'en-tête If-Match, la mise à jour est refusée (412) si le joueur a changé depuis la lecture de cet ETag ;
+     * seule la version du joueur compte, un changement dans son équipe ne fait pas échouer la condition.
      *
      * @param id l'identifiant du joueur à mettre à jour.
      * @param playerDTO les nouvelles informations du joueur.
-     * @return ResponseEntity contenant le joueur mis à jour.
+     * @param ifMatch l'ETag attendu, optionnel.
+     * @param accept  le format de réponse demandé, dont dépend l'ETag.
+     * @return ResponseEntity contenant le joueur mis à jour et son nouvel ETag.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<PlayerDTO> updatePlayer(@PathVariable Long id, @RequestBody PlayerDTO playerDTO) {
-        PlayerDTO updatedPlayer = playerService.updatePlayer(id, playerDTO);
-        return ResponseEntity.ok(updatedPlayer);
+    public ResponseEntity<PlayerDTO> updatePlayer(@PathVariable Long id, @RequestBody PlayerDTO playerDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PlayerDTO updatedPlayer = playerService.updatePlayer(id, playerDTO, ifMatch);
+        return ResponseEntity.ok().eTag(RepresentationFormat.of(accept).tag(ETagUtils.forPlayer(updatedPlayer))).body(updatedPlayer);
+    }
+    /**
+     * Modifie partiellement un joueur avec un JSON Merge Patch (RFC 7396).
+     * Seules les colonnes modifiées sont écrites ; {@code "teamId": null} retire le joueur de son équipe.
+     *
+     * @param id l'identifiant du joueur à modifier.
+     * @param patch les champs à modifier, {@code null} supprimant une valeur.
+     * @param ifMatch l'ETag attendu, optionnel.
+     * @return ResponseEntity sans contenu portant le nouvel ETag du joueur, celui de sa représentation JSON.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatchUtils.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchPlayer(@PathVariable Long id, @RequestBody JsonNode patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String eTag = playerService.patchPlayer(id, patch, ifMatch);
+        return ResponseEntity.noContent().eTag(eTag).build();
     }
     /**
      * Supprime un joueur par son ID.
      *
      * @param id l'identifiant du joueur à supprimer.
+     * @param ifMatch l'ETag attendu, optionnel.
      * @return ResponseEntity sans contenu indiquant que la suppression a réussi.
      */
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePlayer(@PathVariable Long id) {
-        playerService.deletePlayer(id);
+    public ResponseEntity<Void> deletePlayer(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        playerService.deletePlayer(id, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
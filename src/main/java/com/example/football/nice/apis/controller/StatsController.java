@@ -0,0 +1,45 @@
+package com.example.football.nice.apis.controller;
+
+import com.example.football.nice.apis.dto.LeagueStatsDTO;
+import com.example.football.nice.apis.dto.PositionStatsDTO;
+import com.example.football.nice.apis.service.StatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * StatsController expose les statistiques de masse salariale et d'effectif de toute la ligue, calculées en base.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private StatsService statsService;
+    /**
+     * Récupère les chiffres de la ligue : nombre d'équipes et de joueurs, masse salariale, salaire et âge moyens,
+     * puis le détail par poste. Seuls les joueurs d'une équipe sont comptés.
+     *
+     * @return ResponseEntity contenant les chiffres de la ligue.
+     */
+    @GetMapping("/league")
+    public ResponseEntity<LeagueStatsDTO> getLeagueStats() {
+        return ResponseEntity.ok(statsService.getLeagueStats());
+    }
+    /**
+     * Récupère, pour chaque poste, le nombre de joueurs, la masse salariale, le salaire moyen et l'âge moyen.
+     * Sans filtre, les chiffres viennent de la table de synthèse tenue à jour à chaque écriture.
+     *
+     * @param nationality la nationalité des joueurs à retenir, toutes si absente.
+     * @return ResponseEntity contenant les chiffres par poste, triés par nom de poste.
+     */
+    @GetMapping("/salary-by-position")
+    public ResponseEntity<List<PositionStatsDTO>> getSalaryByPosition(@RequestParam(required = false) String nationality) {
+        return ResponseEntity.ok(statsService.getSalaryByPosition(nationality));
+    }
+}
@@ -1,17 +1,35 @@
 package com.example.football.nice.apis.controller;
 
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.CursorPageDTO;
+import com.example.football.nice.apis.dto.SuggestionDTO;
+import com.example.football.nice.apis.dto.TeamStatsDTO;
 import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.service.BulkImportService;
+import com.example.football.nice.apis.service.StatsService;
+import com.example.football.nice.apis.service.SuggestionService;
 import com.example.football.nice.apis.service.TeamService;
+import com.example.football.nice.apis.util.ETagUtils;
+import com.example.football.nice.apis.util.MergePatchUtils;
+import com.example.football.nice.apis.util.RepresentationFormat;
+import com.example.football.nice.apis.util.TeamJson;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 
 /**
  * TeamController gère les endpoints REST pour les opérations CRUD sur les équipes.
+ * Les corps sont en JSON par défaut, ou en CBOR et Smile selon les en-têtes Accept et Content-Type (voir BinaryFormatsConfig).
+ * Chaque format a ses propres ETags (voir RepresentationFormat).
  */
 @RestController
 @RequestMapping("/api/teams")
@@ -19,8 +37,18 @@ public class TeamController {
 
     @Autowired
     private TeamService teamService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private StatsService statsService;
     /**
      * Récupère la liste paginée et triée de toutes les équipes.
+     * Les équipes sont écrites directement depuis les entités chargées, sans passer par des TeamDTO.
      *
      * @param page   le numéro de la page à récupérer.
      * @param size   le nombre d'éléments par page.
@@ -28,56 +56,140 @@ public class TeamController {
      * @return ResponseEntity contenant la liste paginée et triée des équipes.
      */
     @GetMapping
-    public ResponseEntity<List<TeamDTO>> getAllTeams(
+    public ResponseEntity<List<TeamJson>> getAllTeams(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy) {
-        List<TeamDTO> teams = teamService.getAllTeams(page, size, sortBy);
+        List<TeamJson> teams = teamService.getAllTeams(page, size, sortBy);
         return ResponseEntity.ok(teams);
     }
     /**
-     * Récupère une équipe par son ID.
+     * Récupère une page d'équipes par curseur (pagination keyset).
+     * Le coût d'une page ne dépend pas de sa profondeur : la requête reprend après la dernière clé de tri renvoyée.
+     *
+     * @param after  le curseur opaque renvoyé dans {@code next} par la page précédente, absent pour la première page.
+     * @param size   le nombre d'éléments par page.
+     * @param sortBy le champ sur lequel trier les résultats (id, name, acronym ou budget).
+     * @return ResponseEntity contenant la page d'équipes et le curseur de la page suivante.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<TeamJson>> getTeamsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy) {
+        CursorPageDTO<TeamJson> teams = teamService.getTeamsAfter(after, size, sortBy);
+        return ResponseEntity.ok(teams);
+    }
+    /**
+     * Suggère des équipes dont le nom commence par la saisie ou s'en approche (fautes de frappe, accents).
+     * Répond depuis un index en mémoire, sans requête en base.
+     *
+     * @param q     le début du nom saisi.
+     * @param limit le nombre maximal de suggestions (50 au plus).
+     * @return ResponseEntity contenant les suggestions, les meilleures en premier.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestTeams(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionService.suggestTeams(q, limit));
+    }
+    /**
+     * Récupère les chiffres d'une équipe : effectif, masse salariale, salaire et âge moyens, âges extrêmes,
+     * puis le détail par poste. Calculés en base sans charger l'effectif.
      *
      * @param id l'identifiant de l'équipe.
-     * @return ResponseEntity contenant l'équipe correspondant à l'ID fourni.
+     * @return ResponseEntity contenant les chiffres de l'équipe.
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<TeamStatsDTO> getTeamStats(@PathVariable Long id) {
+        return ResponseEntity.ok(statsService.getTeamStats(id));
+    }
+    /**
+     * Récupère une équipe par son ID.
+     * Si l'en-tête If-None-Match correspond à la version courante, répond 304 sans charger l'effectif.
+     *
+     * @param id      l'identifiant de l'équipe.
+     * @param request la requête, pour la vérification de l'ETag.
+     * @return ResponseEntity contenant l'équipe correspondant à l'ID fourni et son ETag.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TeamDTO> getTeamById(@PathVariable Long id) {
+    public ResponseEntity<TeamDTO> getTeamById(@PathVariable Long id, WebRequest request) {
+        String eTag = RepresentationFormat.of(request.getHeader(HttpHeaders.ACCEPT)).tag(teamService.getTeamETag(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         TeamDTO team = teamService.getTeamById(id);
-        return ResponseEntity.ok(team);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(team);
     }
     /**
      * Crée une nouvelle équipe.
      *
      * @param teamDTO les informations de l'équipe à créer.
+     * @param accept  le format de réponse demandé, dont dépend l'ETag.
      * @return ResponseEntity contenant l'équipe créée.
      */
     @PostMapping
-    public ResponseEntity<TeamDTO> createTeam(@Valid @RequestBody TeamDTO teamDTO) {
+    public ResponseEntity<TeamDTO> createTeam(@Valid @RequestBody TeamDTO teamDTO,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         TeamDTO createdTeam = teamService.createTeam(teamDTO);
-        return ResponseEntity.ok(createdTeam);
+        return ResponseEntity.ok().eTag(RepresentationFormat.of(accept).tag(ETagUtils.forTeam(createdTeam))).body(createdTeam);
+    }
+    /**
+     * Importe un lot d'équipes, avec leurs joueurs, en une seule requête.
+     * Les lignes invalides sont rejetées individuellement, les autres sont insérées par paquets JDBC.
+     *
+     * @param teamDTOs les équipes à créer.
+     * @return ResponseEntity contenant le nombre d'équipes créées et les erreurs par ligne.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResultDTO> importTeams(@RequestBody List<TeamDTO> teamDTOs) {
+        BulkImportResultDTO result = bulkImportService.importTeams(teamDTOs);
+        return ResponseEntity.ok(result);
     }
     /**
      * Met à jour une équipe existante.
+     * Avec l'en-tête If-Match, la mise à jour est refusée (412) si l'équipe a changé depuis la lecture de cet ETag.
      *
      * @param id      l'identifiant de l'équipe à mettre à jour.
      * @param teamDTO les nouvelles informations de l'équipe.
-     * @return ResponseEntity contenant l'équipe mise à jour.
+     * @param ifMatch l'ETag attendu, optionnel.
+     * @param accept  le format de réponse demandé, dont dépend l'ETag.
+     * @return ResponseEntity contenant l'équipe mise à jour et son nouvel ETag.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TeamDTO> updateTeam(@Valid @PathVariable Long id, @RequestBody TeamDTO teamDTO) {
-        TeamDTO updatedTeam = teamService.updateTeam(id, teamDTO);
-        return ResponseEntity.ok(updatedTeam);
+    public ResponseEntity<TeamDTO> updateTeam(@Valid @PathVariable Long id, @RequestBody TeamDTO teamDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        TeamDTO updatedTeam = teamService.updateTeam(id, teamDTO, ifMatch);
+        return ResponseEntity.ok().eTag(RepresentationFormat.of(accept).tag(ETagUtils.forTeam(updatedTeam))).body(updatedTeam);
+    }
+    /**
+     * Modifie partiellement une équipe avec un JSON Merge Patch (RFC 7396).
+     * Seules les colonnes modifiées sont écrites ; l'effectif n'est chargé que si le patch contient "players",
+     * auquel cas la liste fournie remplace l'effectif (les joueurs conservés gardent leur id).
+     *
+     * @param id      l'identifiant de l'équipe à modifier.
+     * @param patch   les champs à modifier, {@code null} supprimant une valeur.
+     * @param ifMatch l'ETag attendu, optionnel.
+     * @return ResponseEntity sans contenu portant le nouvel ETag de l'équipe, celui de sa représentation JSON.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatchUtils.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchTeam(@PathVariable Long id, @RequestBody JsonNode patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String eTag = teamService.patchTeam(id, patch, ifMatch);
+        return ResponseEntity.noContent().eTag(eTag).build();
     }
     /**
      * Supprime une équipe par son ID.
      *
-     * @param id l'identifiant de l'équipe à supprimer.
+     * @param id      l'identifiant de l'équipe à supprimer.
+     * @param ifMatch l'ETag attendu, optionnel.
      * @return ResponseEntity sans contenu indiquant que la suppression a réussi.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTeam(@PathVariable Long id) {
-        teamService.deleteTeam(id);
+    public ResponseEntity<Void> deleteTeam(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        teamService.deleteTeam(id, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,44 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk import.
+ * Rows that could not be imported are reported individually; every other row is persisted.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportResultDTO {
+    /**
+     * The number of rows received in the request.
+     */
+    @JsonProperty("received")
+    private int received;
+    /**
+     * The number of rows persisted.
+     */
+    @JsonProperty("created")
+    private int created;
+    /**
+     * The rejected rows, identified by their zero-based index in the request.
+     */
+    @JsonProperty("errors")
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(int row, String message) {
+        errors.add(new RowError(row, message));
+    }
+
+    /**
+     * A rejected row and the reason it was rejected.
+     */
+    public record RowError(@JsonProperty("row") int row, @JsonProperty("message") String message) {
+    }
+}
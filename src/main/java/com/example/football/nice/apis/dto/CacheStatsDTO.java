@@ -0,0 +1,38 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for the counters of one entity cache.
+ */
+@Getter
+@Setter
+public class CacheStatsDTO {
+    /**
+     * The number of entries currently cached.
+     */
+    @JsonProperty("size")
+    private long size;
+    /**
+     * The number of lookups served from the cache.
+     */
+    @JsonProperty("hits")
+    private long hits;
+    /**
+     * The number of lookups that had to load from the database.
+     */
+    @JsonProperty("misses")
+    private long misses;
+    /**
+     * The ratio of hits to lookups, between 0 and 1.
+     */
+    @JsonProperty("hitRate")
+    private double hitRate;
+    /**
+     * The number of entries evicted by size or expiry (explicit invalidations are not counted).
+     */
+    @JsonProperty("evictions")
+    private long evictions;
+}
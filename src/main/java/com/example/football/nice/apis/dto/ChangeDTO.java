@@ -0,0 +1,47 @@
+package com.example.football.nice.apis.dto;
+
+import com.example.football.nice.apis.entity.ChangeLogEntry;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for one entry of the change feed: the current state of a created or updated team or player,
+ * or a tombstone for a deleted one.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeDTO {
+    /**
+     * The sequence number of the change.
+     */
+    @JsonProperty("seq")
+    private Long seq;
+    /**
+     * Whether the change is about a team or a player.
+     */
+    @JsonProperty("entityType")
+    private ChangeLogEntry.EntityType entityType;
+    /**
+     * The id of the team or player.
+     */
+    @JsonProperty("id")
+    private Long id;
+    /**
+     * {@code UPSERT} if the entity is to be created or replaced, {@code DELETE} if it is gone.
+     */
+    @JsonProperty("operation")
+    private ChangeLogEntry.Operation operation;
+    /**
+     * The team as it is now, without its players, which come as changes of their own.
+     */
+    @JsonProperty("team")
+    private TeamDTO team;
+    /**
+     * The player as it is now.
+     */
+    @JsonProperty("player")
+    private PlayerDTO player;
+}
@@ -0,0 +1,31 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of the change feed.
+ * Clients keep {@code next} and send it back as {@code since} on their next sync.
+ */
+@Getter
+@Setter
+public class ChangesPageDTO {
+    /**
+     * The changes of the page, in sequence order, at most one per entity.
+     */
+    @JsonProperty("changes")
+    private List<ChangeDTO> changes;
+    /**
+     * The sequence number the page goes up to.
+     */
+    @JsonProperty("next")
+    private long next;
+    /**
+     * Whether more changes follow: ask again right away with {@code since=next}.
+     */
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+}
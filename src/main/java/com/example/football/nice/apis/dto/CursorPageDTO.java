@@ -0,0 +1,28 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page fetched with keyset (cursor) pagination.
+ * The {@code next} cursor is opaque to clients and is absent on the last page.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageDTO<T> {
+    /**
+     * The elements of the page, in sort order.
+     */
+    @JsonProperty("items")
+    private List<T> items;
+    /**
+     * The cursor to send back as {@code after} to fetch the following page.
+     */
+    @JsonProperty("next")
+    private String next;
+}
@@ -0,0 +1,54 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the league-wide payroll and squad figures, over the players who belong to a team.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeagueStatsDTO {
+    /**
+     * The number of teams.
+     */
+    @JsonProperty("teamCount")
+    private long teamCount;
+    /**
+     * The number of players who belong to a team.
+     */
+    @JsonProperty("playerCount")
+    private Long playerCount;
+    /**
+     * The sum of the salaries of every squad.
+     */
+    @JsonProperty("payroll")
+    private Double payroll;
+    /**
+     * The average salary, over the players whose salary is known.
+     */
+    @JsonProperty("averageSalary")
+    private Double averageSalary;
+    /**
+     * The average age, over the players whose age is known.
+     */
+    @JsonProperty("averageAge")
+    private Double averageAge;
+    /**
+     * The same figures for each position, by position name.
+     */
+    @JsonProperty("positions")
+    private List<PositionStatsDTO> positions;
+
+    public LeagueStatsDTO(Long playerCount, Double payroll, Double averageSalary, Double averageAge) {
+        this.playerCount = playerCount;
+        this.payroll = payroll;
+        this.averageSalary = averageSalary;
+        this.averageAge = averageAge;
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.football.nice.apis.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -14,6 +17,8 @@ import lombok.Setter;
 @Setter
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class PlayerDTO {
     /**
@@ -72,4 +77,14 @@ public class PlayerDTO {
      */
     @JsonProperty("teamName")
     private String teamName; // Name for retrieval
+    /**
+     * The version of the player row this DTO was read from. Not serialized, only used to build the ETag.
+     */
+    @JsonIgnore
+    private Long version;
+    /**
+     * The version of the team row this DTO was read from, if the player has a team. Not serialized.
+     */
+    @JsonIgnore
+    private Long teamVersion;
 }
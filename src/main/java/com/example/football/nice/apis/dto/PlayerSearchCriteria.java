@@ -0,0 +1,45 @@
+package com.example.football.nice.apis.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The filters of a player search, bound from query parameters. Every filter is optional and they combine with AND;
+ * ranges are inclusive.
+ */
+@Getter
+@Setter
+public class PlayerSearchCriteria {
+    /**
+     * The exact position, e.g. {@code Defender}.
+     */
+    private String position;
+    /**
+     * The exact nationality, e.g. {@code Brazilian}.
+     */
+    private String nationality;
+    /**
+     * The lowest age included.
+     */
+    private Integer minAge;
+    /**
+     * The highest age included.
+     */
+    private Integer maxAge;
+    /**
+     * The lowest salary included.
+     */
+    private Double minSalary;
+    /**
+     * The highest salary included.
+     */
+    private Double maxSalary;
+    /**
+     * The id of the team the players belong to.
+     */
+    private Long teamId;
+    /**
+     * The shirt number.
+     */
+    private Integer jerseyNumber;
+}
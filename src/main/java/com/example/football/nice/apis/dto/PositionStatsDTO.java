@@ -0,0 +1,42 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for the salary and age figures of the players of one position.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionStatsDTO {
+    /**
+     * The position the figures are about.
+     */
+    @JsonProperty("position")
+    private String position;
+    /**
+     * The number of players at this position.
+     */
+    @JsonProperty("playerCount")
+    private Long playerCount;
+    /**
+     * The sum of their salaries.
+     */
+    @JsonProperty("totalSalary")
+    private Double totalSalary;
+    /**
+     * The average salary, over the players whose salary is known.
+     */
+    @JsonProperty("averageSalary")
+    private Double averageSalary;
+    /**
+     * The average age, over the players whose age is known.
+     */
+    @JsonProperty("averageAge")
+    private Double averageAge;
+}
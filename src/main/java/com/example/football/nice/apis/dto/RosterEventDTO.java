@@ -0,0 +1,45 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a committed change to a team or a player, as pushed to event subscribers.
+ * Events identify what changed; clients fetch the current representation if they need it.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RosterEventDTO {
+    /**
+     * The kind of change.
+     */
+    @JsonProperty("type")
+    private RosterEventType type;
+    /**
+     * The player concerned, absent for team events.
+     */
+    @JsonProperty("playerId")
+    private Long playerId;
+    /**
+     * The team concerned, or the team the player belongs to after the change; absent for a free agent.
+     */
+    @JsonProperty("teamId")
+    private Long teamId;
+    /**
+     * For a transfer, the team the player left; absent if the player was a free agent.
+     */
+    @JsonProperty("previousTeamId")
+    private Long previousTeamId;
+    /**
+     * When the change was committed.
+     */
+    @JsonProperty("committedAt")
+    private Instant committedAt;
+}
@@ -0,0 +1,21 @@
+package com.example.football.nice.apis.dto;
+
+/**
+ * The kinds of change pushed on {@code /api/events}. Team events cover the team and its roster as a whole: a roster
+ * replaced through the team endpoints is a {@link #TEAM_UPDATED}, and the players of a deleted team go with its
+ * {@link #TEAM_DELETED}. Player events come from the player endpoints; a player import sends one {@link #TEAM_UPDATED}
+ * per team whose roster grew, and a {@link #PLAYER_CREATED} only for free agents.
+ */
+public enum RosterEventType {
+    TEAM_CREATED,
+    TEAM_UPDATED,
+    TEAM_DELETED,
+    PLAYER_CREATED,
+    PLAYER_UPDATED,
+    /**
+     * The player changed team, was signed from free agency ({@code previousTeamId} absent) or released
+     * ({@code teamId} absent).
+     */
+    PLAYER_TRANSFERRED,
+    PLAYER_DELETED
+}
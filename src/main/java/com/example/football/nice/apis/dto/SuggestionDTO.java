@@ -0,0 +1,28 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for one autocomplete suggestion.
+ */
+@Getter
+@Setter
+public class SuggestionDTO {
+    /**
+     * The id of the suggested player or team.
+     */
+    @JsonProperty("id")
+    private Long id;
+    /**
+     * The display name: first and last name of a player, name of a team.
+     */
+    @JsonProperty("name")
+    private String name;
+    /**
+     * How well the name matches, from 0 to 1; prefix matches score 0.9 or more.
+     */
+    @JsonProperty("score")
+    private double score;
+}
@@ -1,5 +1,6 @@
 package com.example.football.nice.apis.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotEmpty;
@@ -46,4 +47,9 @@ public class TeamDTO {
      */
     @JsonProperty("players")
     private List<PlayerDTO> players;
+    /**
+     * The version of the team row this DTO was read from. Not serialized, only used to build the ETag.
+     */
+    @JsonIgnore
+    private Long version;
 }
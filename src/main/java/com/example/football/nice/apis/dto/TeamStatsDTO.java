@@ -0,0 +1,74 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the payroll and squad figures of one team, computed in the database.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TeamStatsDTO {
+    /**
+     * The unique identifier of the team.
+     */
+    @JsonProperty("teamId")
+    private Long teamId;
+    /**
+     * The name of the team.
+     */
+    @JsonProperty("teamName")
+    private String teamName;
+    /**
+     * The number of players in the squad.
+     */
+    @JsonProperty("playerCount")
+    private Long playerCount;
+    /**
+     * The sum of the salaries of the squad.
+     */
+    @JsonProperty("payroll")
+    private Double payroll;
+    /**
+     * The average salary, over the players whose salary is known.
+     */
+    @JsonProperty("averageSalary")
+    private Double averageSalary;
+    /**
+     * The average age, over the players whose age is known.
+     */
+    @JsonProperty("averageAge")
+    private Double averageAge;
+    /**
+     * The age of the youngest player.
+     */
+    @JsonProperty("youngestAge")
+    private Integer youngestAge;
+    /**
+     * The age of the oldest player.
+     */
+    @JsonProperty("oldestAge")
+    private Integer oldestAge;
+    /**
+     * The same figures for each position of the squad, by position name.
+     */
+    @JsonProperty("positions")
+    private List<PositionStatsDTO> positions;
+
+    public TeamStatsDTO(Long teamId, String teamName, Long playerCount, Double payroll, Double averageSalary,
+                        Double averageAge, Integer youngestAge, Integer oldestAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.playerCount = playerCount;
+        this.payroll = payroll;
+        this.averageSalary = averageSalary;
+        this.averageAge = averageAge;
+        this.youngestAge = youngestAge;
+        this.oldestAge = oldestAge;
+    }
+}
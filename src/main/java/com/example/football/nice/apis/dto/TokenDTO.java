@@ -0,0 +1,28 @@
+package com.example.football.nice.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for an issued access token, shaped like an OAuth 2 token response.
+ */
+@Getter
+@Setter
+public class TokenDTO {
+    /**
+     * The signed token, to send as {@code Authorization: Bearer <token>}.
+     */
+    @JsonProperty("access_token")
+    private String accessToken;
+    /**
+     * Always {@code Bearer}.
+     */
+    @JsonProperty("token_type")
+    private String tokenType;
+    /**
+     * The lifetime of the token, in seconds.
+     */
+    @JsonProperty("expires_in")
+    private long expiresIn;
+}
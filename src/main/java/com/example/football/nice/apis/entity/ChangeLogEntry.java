@@ -0,0 +1,48 @@
+package com.example.football.nice.apis.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * One committed change of a team or a player, in the append-only log read by delta-sync clients. {@code seq} is
+ * global and follows commit order, so a client that has read up to a sequence number never misses a change
+ * committed later. Written by {@link com.example.football.nice.apis.config.ChangeLogListener} in the transaction
+ * of each write; compacted by {@link com.example.football.nice.apis.service.ChangeLogService}.
+ */
+@Data
+@Entity
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_entity", columnList = "entityType, entityId, seq"))
+public class ChangeLogEntry {
+
+    public enum EntityType { TEAM, PLAYER }
+
+    /**
+     * {@code UPSERT} for a created or updated entity, {@code DELETE} for a tombstone.
+     */
+    public enum Operation { UPSERT, DELETE }
+
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Operation operation;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
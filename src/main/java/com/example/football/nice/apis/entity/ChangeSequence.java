@@ -0,0 +1,24 @@
+package com.example.football.nice.apis.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The single row holding the last sequence number given to a change, and the highest one removed by compaction:
+ * clients that synced before it must start over.
+ */
+@Data
+@Entity
+@Table(name = "change_sequence")
+public class ChangeSequence {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private long lastSeq;
+    private long compactedSeq;
+}
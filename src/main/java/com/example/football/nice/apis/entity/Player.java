@@ -1,13 +1,26 @@
 package com.example.football.nice.apis.entity;
 
+import com.example.football.nice.apis.util.PlayerUtils;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.Objects;
 
 @Data
 @Entity
+@DynamicUpdate
 @Table(name = "player", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"firstName", "lastName", "position", "jerseyNumber", "age", "nationality", "size", "salary"})
+        @UniqueConstraint(name = "uk_player_fingerprint", columnNames = "fingerprint")
+}, indexes = {
+        @Index(name = "idx_player_last_name_id", columnList = "lastName, id"),
+        @Index(name = "idx_player_first_name_id", columnList = "firstName, id"),
+        @Index(name = "idx_player_position_id", columnList = "position, id"),
+        // search filters: every filter leads one index, equality columns before ranges, id last for the cursor
+        @Index(name = "idx_player_team_jersey_number", columnList = "team_id, jerseyNumber, id"),
+        @Index(name = "idx_player_jersey_number_id", columnList = "jerseyNumber, id"),
+        @Index(name = "idx_player_nationality_position_age", columnList = "nationality, position, age, id"),
+        @Index(name = "idx_player_age_id", columnList = "age, id"),
+        @Index(name = "idx_player_salary_id", columnList = "salary, id")
 })
 public class Player {
 
@@ -15,7 +28,7 @@ public class Player {
     @SequenceGenerator(
             name = "player_id_seq",
             sequenceName = "player_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -38,10 +51,26 @@ public class Player {
     private String size;
     private Double salary;
 
-    @ManyToOne
+    /**
+     * SHA-256 of the eight content columns above, maintained on every insert and update.
+     */
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
+    @PrePersist
+    @PreUpdate
+    void computeFingerprint() {
+        fingerprint = PlayerUtils.fingerprint(this);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
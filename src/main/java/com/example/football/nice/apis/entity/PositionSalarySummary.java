@@ -0,0 +1,27 @@
+package com.example.football.nice.apis.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * League-wide running totals per position over the players who belong to a team, so league figures are read
+ * from a handful of rows instead of aggregating the whole player table. Built at startup when empty, then kept
+ * current by {@link com.example.football.nice.apis.config.PositionSummaryListener} in the transaction of each write.
+ * Sums and counts rather than averages, so a change is applied as a delta.
+ */
+@Data
+@Entity
+@Table(name = "position_salary_summary")
+public class PositionSalarySummary {
+
+    @Id
+    private String position;
+
+    private long playerCount;
+    private double totalSalary;
+    private long salaryCount;
+    private long totalAge;
+    private long ageCount;
+}
@@ -2,19 +2,27 @@ package com.example.football.nice.apis.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_team_name_id", columnList = "name, id"),
+        @Index(name = "idx_team_acronym_id", columnList = "acronym, id"),
+        @Index(name = "idx_team_budget_id", columnList = "budget, id")
+})
 public class Team {
 
     @Id
     @SequenceGenerator(
             name = "team_id_seq",
             sequenceName = "team_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -28,6 +36,25 @@ public class Team {
     @Column(nullable = false)
     private Double budget;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    /**
+     * Roster totals kept up to date by {@code RosterRules} on every roster write, so the roster rules are checked
+     * without loading the players; {@code null} until first computed for teams created before these columns. The
+     * jersey numbers are a count of players per number, 100 bytes; the {@code jersey_numbers} bitset written by
+     * earlier releases is no longer read, those teams get their counts from their players on their next write.
+     * Excluded from optimistic locking, as roster writes already bump the version through the team lock.
+     */
+    @OptimisticLock(excluded = true)
+    private Integer playerCount;
+    @OptimisticLock(excluded = true)
+    private Long payrollCents;
+    @OptimisticLock(excluded = true)
+    @Column(length = 100)
+    private byte[] jerseyNumberCounts;
+
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Player> players = new ArrayList<>();
 
@@ -1,8 +1,10 @@
 package com.example.football.nice.apis.exception;
 
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -43,6 +45,22 @@ public class GlobalExceptionHandler {
         String ErrorMsg = "Duplicate entity" + ex.getMessage() ;
         return new ResponseEntity<>(ErrorMsg, HttpStatus.CONFLICT);
     }
+    @ExceptionHandler(RosterRuleException.class)
+    public ResponseEntity<String> handleRosterRuleException(RosterRuleException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+    @ExceptionHandler(SyncExpiredException.class)
+    public ResponseEntity<String> handleSyncExpiredException(SyncExpiredException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.GONE);
+    }
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<String> handleOptimisticLockException(Exception ex) {
+        return new ResponseEntity<>("Resource was modified concurrently, reload it and retry", HttpStatus.CONFLICT);
+    }
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> globalExceptionHandler(Exception ex, WebRequest request) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,7 @@
+package com.example.football.nice.apis.exception;
+
+public class RosterRuleException extends RuntimeException {
+    public RosterRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.football.nice.apis.repository;
+
+import com.example.football.nice.apis.entity.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findBySeqGreaterThanOrderBySeq(long seq, Limit limit);
+
+    /**
+     * Removes the entries followed by a later one for the same entity: a client reading from any point still gets
+     * that later entry, so only the latest change of each entity is kept.
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE EXISTS (SELECT n.seq FROM ChangeLogEntry n "
+            + "WHERE n.entityType = c.entityType AND n.entityId = c.entityId AND n.seq > c.seq)")
+    int deleteSuperseded();
+
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c WHERE c.operation = DELETE AND c.changedAt < :before")
+    Long findLastTombstoneSeqBefore(Instant before);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.operation = DELETE AND c.seq <= :seq")
+    int deleteTombstonesUpTo(long seq);
+
+    /**
+     * Logs an upsert for every team, numbered from 1; with {@link #seedPlayers(long)}, starts the log of a
+     * database written before it existed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO change_log (seq, entity_type, entity_id, operation, changed_at) "
+            + "SELECT ROW_NUMBER() OVER (ORDER BY t.id), 'TEAM', t.id, 'UPSERT', CURRENT_TIMESTAMP FROM team t", nativeQuery = true)
+    int seedTeams();
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (seq, entity_type, entity_id, operation, changed_at) "
+            + "SELECT :offset + ROW_NUMBER() OVER (ORDER BY p.id), 'PLAYER', p.id, 'UPSERT', CURRENT_TIMESTAMP FROM player p",
+            nativeQuery = true)
+    int seedPlayers(long offset);
+}
@@ -0,0 +1,15 @@
+package com.example.football.nice.apis.repository;
+
+import com.example.football.nice.apis.entity.ChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, Integer> {
+
+    @Modifying
+    @Query("UPDATE ChangeSequence s SET s.compactedSeq = :seq WHERE s.id = " + ChangeSequence.ID + " AND s.compactedSeq < :seq")
+    int raiseCompactedSeq(long seq);
+}
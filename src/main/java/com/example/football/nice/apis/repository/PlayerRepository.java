@@ -1,28 +1,117 @@
 package com.example.football.nice.apis.repository;
 
+import com.example.football.nice.apis.dto.LeagueStatsDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.PositionStatsDTO;
 import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.util.NamedId;
+import com.example.football.nice.apis.util.PlayerNameKey;
+import com.example.football.nice.apis.util.PlayerVersions;
+import com.example.football.nice.apis.util.RosterEntry;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player> {
+
+    /**
+     * Selects players straight into {@link PlayerDTO}: only the needed columns are read and no managed
+     * entity (nor its dirty-checking snapshot) is created.
+     */
+    String PLAYER_DTO_PROJECTION = "SELECT new com.example.football.nice.apis.dto.PlayerDTO("
+            + "p.id, p.firstName, p.lastName, p.position, p.jerseyNumber, p.age, p.nationality, p.size, p.salary, t.id, t.name, p.version, t.version) "
+            + "FROM Player p LEFT JOIN p.team t";
+
     boolean existsByFirstNameAndLastName(String firstName, String lastName);
+
+    @Query("SELECT new com.example.football.nice.apis.util.PlayerNameKey(p.firstName, p.lastName) FROM Player p WHERE p.lastName IN :lastNames")
+    List<PlayerNameKey> findNameKeysByLastNameIn(Collection<String> lastNames);
     @Modifying
     @Transactional
     @Query("DELETE FROM Player p WHERE p.team.id = :teamId")
     void deleteByTeamId(Long teamId);
 
-     boolean existsByFirstNameAndLastNameAndPositionAndJerseyNumberAndAgeAndNationalityAndSizeAndSalary(
-            String firstName, String lastName, String position, int jerseyNumber,
-            int age, String nationality, String size, double salary);
+    @Query("SELECT new com.example.football.nice.apis.util.NamedId(p.id, CONCAT(p.firstName, ' ', p.lastName)) FROM Player p")
+    List<NamedId> findAllNames();
+
+    @Query("SELECT new com.example.football.nice.apis.dto.PositionStatsDTO(p.position, COUNT(p), SUM(p.salary), AVG(p.salary), AVG(p.age)) "
+            + "FROM Player p WHERE p.team.id = :teamId GROUP BY p.position ORDER BY p.position")
+    List<PositionStatsDTO> findPositionStatsByTeamId(Long teamId);
+
+    /**
+     * Salary and age figures per position over the players of every team, optionally of one nationality only.
+     */
+    @Query("SELECT new com.example.football.nice.apis.dto.PositionStatsDTO(p.position, COUNT(p), SUM(p.salary), AVG(p.salary), AVG(p.age)) "
+            + "FROM Player p JOIN p.team t WHERE (:nationality IS NULL OR p.nationality = :nationality) "
+            + "GROUP BY p.position ORDER BY p.position")
+    List<PositionStatsDTO> findPositionStats(String nationality);
+
+    @Query("SELECT new com.example.football.nice.apis.dto.LeagueStatsDTO(COUNT(p), COALESCE(SUM(p.salary), 0), AVG(p.salary), AVG(p.age)) "
+            + "FROM Player p JOIN p.team t")
+    LeagueStatsDTO findLeagueStats();
+
+    @Query("SELECT p.fingerprint FROM Player p WHERE p.fingerprint IN :fingerprints")
+    List<String> findExistingFingerprints(Collection<String> fingerprints);
+
+    List<Player> findTop500ByFingerprintIsNull();
 
     List<Player> findByTeamId(Long id);
 
+    @Query("SELECT p.id FROM Player p WHERE p.team.id = :teamId")
+    List<Long> findIdsByTeamId(Long teamId);
+
+    /**
+     * Roster of a team as committed, without flushing the pending changes of the current transaction first.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new com.example.football.nice.apis.util.RosterEntry(p.jerseyNumber, p.salary) FROM Player p WHERE p.team.id = :teamId")
+    List<RosterEntry> findRosterEntriesByTeamId(Long teamId);
+
+    Window<Player> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(PLAYER_DTO_PROJECTION)
+    List<PlayerDTO> findAllAsDto();
+
+    @Query(PLAYER_DTO_PROJECTION + " WHERE p.id = :id")
+    Optional<PlayerDTO> findDtoById(Long id);
+
+    @Query(PLAYER_DTO_PROJECTION + " WHERE p.id IN :ids")
+    List<PlayerDTO> findDtosByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.example.football.nice.apis.util.PlayerVersions(p.version, t.version) FROM Player p LEFT JOIN p.team t WHERE p.id = :id")
+    Optional<PlayerVersions> findVersionsById(Long id);
+
+    /**
+     * Streams every player with its team through a forward-only cursor.
+     * Must be consumed inside a transaction so the driver can fetch rows in chunks of {@code fetchSize}.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query(PLAYER_DTO_PROJECTION)
+    Stream<PlayerDTO> streamAllAsDto();
+
     Player findByFirstNameAndLastNameAndPositionAndJerseyNumberAndAgeAndNationalityAndSizeAndSalary(String firstName, String lastName, String position, Integer jerseyNumber, Integer age, String nationality, String size, Double salary);
 }
@@ -0,0 +1,52 @@
+package com.example.football.nice.apis.repository;
+
+import com.example.football.nice.apis.dto.PlayerSearchCriteria;
+import com.example.football.nice.apis.entity.Player;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a {@link PlayerSearchCriteria} into a {@link Specification} with one sargable predicate per filter:
+ * plain equalities and inclusive ranges on the raw columns, so each filter can be served by the composite
+ * index declared for it on {@link Player}.
+ */
+public final class PlayerSpecifications {
+
+    private PlayerSpecifications() {
+    }
+
+    public static Specification<Player> matching(PlayerSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getTeamId() != null) {
+                // the foreign key column itself, without joining team
+                predicates.add(cb.equal(root.get("team").get("id"), criteria.getTeamId()));
+            }
+            if (criteria.getJerseyNumber() != null) {
+                predicates.add(cb.equal(root.get("jerseyNumber"), criteria.getJerseyNumber()));
+            }
+            if (criteria.getNationality() != null) {
+                predicates.add(cb.equal(root.get("nationality"), criteria.getNationality()));
+            }
+            if (criteria.getPosition() != null) {
+                predicates.add(cb.equal(root.get("position"), criteria.getPosition()));
+            }
+            if (criteria.getMinAge() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("age"), criteria.getMinAge()));
+            }
+            if (criteria.getMaxAge() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("age"), criteria.getMaxAge()));
+            }
+            if (criteria.getMinSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), criteria.getMinSalary()));
+            }
+            if (criteria.getMaxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), criteria.getMaxSalary()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
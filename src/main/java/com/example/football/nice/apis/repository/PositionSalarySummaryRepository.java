@@ -0,0 +1,29 @@
+package com.example.football.nice.apis.repository;
+
+import com.example.football.nice.apis.entity.PositionSalarySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PositionSalarySummaryRepository extends JpaRepository<PositionSalarySummary, String> {
+
+    @Query("SELECT s FROM PositionSalarySummary s WHERE s.playerCount > 0 ORDER BY s.position")
+    List<PositionSalarySummary> findNonEmpty();
+
+    @Modifying
+    @Query(value = "DELETE FROM position_salary_summary", nativeQuery = true)
+    void clear();
+
+    /**
+     * Recomputes every row from the player table; call {@link #clear()} first, in the same transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO position_salary_summary (position, player_count, total_salary, salary_count, total_age, age_count) "
+            + "SELECT p.position, COUNT(*), COALESCE(SUM(p.salary), 0), COUNT(p.salary), COALESCE(SUM(p.age), 0), COUNT(p.age) "
+            + "FROM player p WHERE p.team_id IS NOT NULL GROUP BY p.position", nativeQuery = true)
+    int rebuild();
+}
@@ -1,10 +1,43 @@
 package com.example.football.nice.apis.repository;
 
+import com.example.football.nice.apis.dto.TeamStatsDTO;
 import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.util.NamedId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
     boolean existsByName(String name);
+
+    @Query("SELECT t.version FROM Team t WHERE t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT t.name FROM Team t WHERE t.name IN :names")
+    List<String> findExistingNames(Collection<String> names);
+
+    @Query("SELECT new com.example.football.nice.apis.util.NamedId(t.id, t.name) FROM Team t")
+    List<NamedId> findAllNames();
+
+    @Query("SELECT new com.example.football.nice.apis.dto.TeamStatsDTO(t.id, t.name, COUNT(p), SUM(p.salary), AVG(p.salary), "
+            + "AVG(p.age), MIN(p.age), MAX(p.age)) FROM Team t LEFT JOIN t.players p WHERE t.id = :id GROUP BY t.id, t.name")
+    Optional<TeamStatsDTO> findStatsById(Long id);
+
+    @Query("SELECT t.id FROM Team t WHERE t.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    Window<Team> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "players")
+    List<Team> findWithPlayersByIdIn(Collection<Long> ids);
 }
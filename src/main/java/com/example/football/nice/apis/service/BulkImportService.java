@@ -0,0 +1,295 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.exception.InvalidEntityException;
+import com.example.football.nice.apis.exception.RosterRuleException;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import com.example.football.nice.apis.util.PlayerNameKey;
+import com.example.football.nice.apis.util.PlayerUtils;
+import com.example.football.nice.apis.util.RosterEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large batches of players or teams.
+ * Rows are validated with one set-based lookup per chunk, then each chunk is inserted in its own
+ * transaction so Hibernate can send JDBC batches with ids taken from the pooled sequence optimizer.
+ */
+@Slf4j
+@Service
+@Timed("football.service")
+public class BulkImportService {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityCacheInvalidator entityCache;
+
+    @Autowired
+    private RosterRules rosterRules;
+
+    @Autowired
+    private RosterEventPublisher events;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${football.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${football.bulk.max-rows:10000}")
+    private int maxRows;
+
+    public BulkImportResultDTO importPlayers(List<PlayerDTO> playerDTOs) {
+        log.info("Importing {} players in chunks of {}", playerDTOs.size(), chunkSize);
+        checkRowCount(playerDTOs.size());
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        result.setReceived(playerDTOs.size());
+        Set<PlayerNameKey> seen = new HashSet<>();
+        for (int start = 0; start < playerDTOs.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, playerDTOs.size());
+            List<Integer> rows = validatePlayers(playerDTOs, start, end, seen, result);
+            result.setCreated(result.getCreated() + persist(rows, row -> toPlayer(playerDTOs.get(row)), playerRepository,
+                    chunkRows -> rosterRules.addPlayers(rosterEntriesByTeamId(playerDTOs, chunkRows)),
+                    this::publishPlayersImported, result));
+            entityCache.evictTeams(teamIds(playerDTOs, rows));
+        }
+        log.info("Imported {} of {} players", result.getCreated(), result.getReceived());
+        return result;
+    }
+
+    public BulkImportResultDTO importTeams(List<TeamDTO> teamDTOs) {
+        log.info("Importing {} teams in chunks of {}", teamDTOs.size(), chunkSize);
+        checkRowCount(teamDTOs.size());
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        result.setReceived(teamDTOs.size());
+        Set<String> seen = new HashSet<>();
+        for (int start = 0; start < teamDTOs.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, teamDTOs.size());
+            List<Integer> rows = validateTeams(teamDTOs, start, end, seen, result);
+            result.setCreated(result.getCreated() + persist(rows, row -> toTeam(teamDTOs.get(row)), teamRepository,
+                    savedRows -> { }, teams -> events.teamsCreated(teams.stream().map(Team::getId).toList()), result));
+        }
+        log.info("Imported {} of {} teams", result.getCreated(), result.getReceived());
+        return result;
+    }
+
+    /**
+     * One event per team of the chunk rather than per player, so that a large import does not overflow the
+     * queues of the event subscribers.
+     */
+    private void publishPlayersImported(List<Player> players) {
+        Set<Long> teamIds = new TreeSet<>();
+        List<Long> freeAgentIds = new ArrayList<>();
+        for (Player player : players) {
+            if (player.getTeam() != null) {
+                teamIds.add(player.getTeam().getId());
+            } else {
+                freeAgentIds.add(player.getId());
+            }
+        }
+        events.playersImported(teamIds, freeAgentIds);
+    }
+
+    private static Set<Long> teamIds(List<PlayerDTO> playerDTOs, List<Integer> rows) {
+        return rows.stream().map(row -> playerDTOs.get(row).getTeamId())
+                .filter(teamId -> teamId != null).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * The players of a chunk, by team. The roster rules lock these teams in the transaction of the chunk, which
+     * also bumps their version, so their ETag changes exactly when the new roster becomes visible.
+     */
+    private static Map<Long, List<RosterEntry>> rosterEntriesByTeamId(List<PlayerDTO> playerDTOs, List<Integer> rows) {
+        return rows.stream().map(playerDTOs::get).filter(playerDTO -> playerDTO.getTeamId() != null)
+                .collect(Collectors.groupingBy(PlayerDTO::getTeamId, Collectors.mapping(RosterEntry::of, Collectors.toList())));
+    }
+
+    private void checkRowCount(int rows) {
+        if (rows > maxRows) {
+            throw new InvalidEntityException("Bulk import is limited to " + maxRows + " rows, got " + rows);
+        }
+    }
+
+    private List<Integer> validatePlayers(List<PlayerDTO> playerDTOs, int start, int end, Set<PlayerNameKey> seen,
+                                          BulkImportResultDTO result) {
+        List<Integer> candidates = new ArrayList<>(end - start);
+        for (int row = start; row < end; row++) {
+            PlayerDTO playerDTO = playerDTOs.get(row);
+            if (playerDTO == null || playerDTO.getFirstName() == null || playerDTO.getLastName() == null || playerDTO.getPosition() == null) {
+                result.addError(row, "firstName, lastName and position are required");
+            } else if (!seen.add(PlayerNameKey.of(playerDTO))) {
+                result.addError(row, "Duplicate player in request: " + PlayerNameKey.of(playerDTO));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<PlayerNameKey> existingNames = new HashSet<>(playerRepository.findNameKeysByLastNameIn(
+                candidates.stream().map(row -> playerDTOs.get(row).getLastName()).collect(Collectors.toSet())));
+        Set<Long> teamIds = candidates.stream().map(row -> playerDTOs.get(row).getTeamId())
+                .filter(teamId -> teamId != null).collect(Collectors.toSet());
+        Set<Long> existingTeamIds = teamIds.isEmpty() ? Set.of() : new HashSet<>(teamRepository.findExistingIds(teamIds));
+
+        List<Integer> rows = new ArrayList<>(candidates.size());
+        for (int row : candidates) {
+            PlayerDTO playerDTO = playerDTOs.get(row);
+            if (existingNames.contains(PlayerNameKey.of(playerDTO))) {
+                result.addError(row, "Player already exists with name " + PlayerNameKey.of(playerDTO));
+            } else if (playerDTO.getTeamId() != null && !existingTeamIds.contains(playerDTO.getTeamId())) {
+                result.addError(row, "Team not found with id " + playerDTO.getTeamId());
+            } else {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private List<Integer> validateTeams(List<TeamDTO> teamDTOs, int start, int end, Set<String> seen,
+                                        BulkImportResultDTO result) {
+        List<Integer> candidates = new ArrayList<>(end - start);
+        for (int row = start; row < end; row++) {
+            TeamDTO teamDTO = teamDTOs.get(row);
+            if (teamDTO == null || teamDTO.getName() == null || teamDTO.getAcronym() == null || teamDTO.getBudget() == null) {
+                result.addError(row, "name, acronym and budget are required");
+                continue;
+            }
+            if (!seen.add(teamDTO.getName())) {
+                result.addError(row, "Duplicate team in request: " + teamDTO.getName());
+                continue;
+            }
+            try {
+                if (teamDTO.getPlayers() != null) {
+                    PlayerUtils.checkForDuplicateNewPlayers(teamDTO.getPlayers());
+                }
+                candidates.add(row);
+            } catch (InvalidEntityException e) {
+                result.addError(row, e.getMessage());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<String> existingNames = new HashSet<>(teamRepository.findExistingNames(
+                candidates.stream().map(row -> teamDTOs.get(row).getName()).collect(Collectors.toSet())));
+        // une seule requête pour les joueurs de toutes les équipes du paquet
+        Map<String, Integer> rowByFingerprint = new HashMap<>();
+        for (int row : candidates) {
+            if (teamDTOs.get(row).getPlayers() != null) {
+                PlayerUtils.indexByFingerprint(teamDTOs.get(row).getPlayers()).keySet()
+                        .forEach(fingerprint -> rowByFingerprint.putIfAbsent(fingerprint, row));
+            }
+        }
+        Set<Integer> rowsWithExistingPlayers = new HashSet<>();
+        if (!rowByFingerprint.isEmpty()) {
+            playerRepository.findExistingFingerprints(rowByFingerprint.keySet())
+                    .forEach(fingerprint -> rowsWithExistingPlayers.add(rowByFingerprint.get(fingerprint)));
+        }
+
+        List<Integer> rows = new ArrayList<>(candidates.size());
+        for (int row : candidates) {
+            if (existingNames.contains(teamDTOs.get(row).getName())) {
+                result.addError(row, "Team already exists with name " + teamDTOs.get(row).getName());
+            } else if (rowsWithExistingPlayers.contains(row)) {
+                result.addError(row, "Team contains players that already exist in other teams");
+            } else {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Persists the given rows in one transaction. If the database or a roster rule rejects the chunk, its rows are
+     * replayed one transaction at a time so that only the offending rows are reported and the others still get in.
+     * {@code afterSave} sees the entities saved by each transaction, so it runs again for the rows replayed after
+     * a rejected chunk: it must only register work for after commit.
+     */
+    private <E> int persist(List<Integer> rows, IntFunction<E> factory, JpaRepository<E, Long> repository,
+                            Consumer<List<Integer>> beforeSave, Consumer<List<E>> afterSave, BulkImportResultDTO result) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveAndClear(rows, factory, repository, beforeSave, afterSave));
+            return rows.size();
+        } catch (DataIntegrityViolationException | RosterRuleException | InvalidEntityException e) {
+            log.warn("Chunk of {} rows rejected, retrying row by row", rows.size());
+            int created = 0;
+            for (int row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> saveAndClear(List.of(row), factory, repository, beforeSave, afterSave));
+                    created++;
+                } catch (DataIntegrityViolationException rowError) {
+                    result.addError(row, "Data integrity violation: " + rowError.getMostSpecificCause().getMessage());
+                } catch (RosterRuleException | InvalidEntityException rowError) {
+                    result.addError(row, rowError.getMessage());
+                }
+            }
+            return created;
+        }
+    }
+
+    private <E> void saveAndClear(List<Integer> rows, IntFunction<E> factory, JpaRepository<E, Long> repository,
+                                  Consumer<List<Integer>> beforeSave, Consumer<List<E>> afterSave) {
+        List<E> entities = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            entities.add(factory.apply(row));
+        }
+        beforeSave.accept(rows);
+        repository.saveAllAndFlush(entities);
+        afterSave.accept(entities);
+        // Les entités insérées ne sont plus utiles : on vide le contexte pour garder une mémoire constante
+        entityManager.clear();
+    }
+
+    private Player toPlayer(PlayerDTO playerDTO) {
+        Player player = new Player();
+        DtoConversionUtils.updatePlayerFromDTO(player, playerDTO);
+        if (playerDTO.getTeamId() != null) {
+            player.setTeam(teamRepository.getReferenceById(playerDTO.getTeamId()));
+        }
+        return player;
+    }
+
+    private Team toTeam(TeamDTO teamDTO) {
+        Team team = new Team();
+        DtoConversionUtils.updateTeamFromDTO(team, teamDTO);
+        rosterRules.initialize(team);
+        return team;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.dto.ChangeDTO;
+import com.example.football.nice.apis.dto.ChangesPageDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.ChangeLogEntry;
+import com.example.football.nice.apis.entity.ChangeLogEntry.EntityType;
+import com.example.football.nice.apis.entity.ChangeLogEntry.Operation;
+import com.example.football.nice.apis.entity.ChangeSequence;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.exception.InvalidEntityException;
+import com.example.football.nice.apis.exception.SyncExpiredException;
+import com.example.football.nice.apis.repository.ChangeLogRepository;
+import com.example.football.nice.apis.repository.ChangeSequenceRepository;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync over the change log kept by {@link com.example.football.nice.apis.config.ChangeLogListener}. A page
+ * carries the current state of each team and player changed since the given sequence number, and tombstones for
+ * those deleted.
+ * <p>
+ * Compaction runs every {@code football.changes.compaction-interval}: it keeps only the latest entry of each
+ * entity, which bounds the log by the number of teams and players, and drops the tombstones older than
+ * {@code football.changes.retention}. A client last synced before the newest dropped tombstone gets a
+ * {@code 410 Gone} and syncs again from 0, which always works as the log holds an entry for every live entity.
+ */
+@Slf4j
+@Service
+@Timed("football.service")
+public class ChangeLogService implements ApplicationRunner {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${football.changes.retention:7d}")
+    private Duration retention;
+
+    @Value("${football.changes.compaction-interval:10m}")
+    private Duration compactionInterval;
+
+    private ScheduledExecutorService compactions;
+
+    /**
+     * Starts the log of a database written before it existed with an upsert per team and player, then schedules
+     * compaction.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (sequenceRepository.existsById(ChangeSequence.ID)) {
+                return;
+            }
+            int teams = changeLogRepository.seedTeams();
+            int players = changeLogRepository.seedPlayers(teams);
+            ChangeSequence sequence = new ChangeSequence();
+            sequence.setId(ChangeSequence.ID);
+            sequence.setLastSeq(teams + players);
+            sequenceRepository.save(sequence);
+            log.info("Started the change log with {} teams and {} players", teams, players);
+        });
+        compactions = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("change-log-compaction").daemon().factory());
+        compactions.scheduleWithFixedDelay(() -> {
+            try {
+                // through the template, as a call from within the class skips the @Transactional proxy
+                transactionTemplate.executeWithoutResult(status -> compact());
+            } catch (RuntimeException e) {
+                log.warn("Change log compaction failed", e);
+            }
+        }, compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (compactions != null) {
+            compactions.shutdownNow();
+        }
+    }
+
+    /**
+     * Changes committed after {@code since}, at most {@code limit} log entries. An entity changed several times
+     * within the page comes once, with its latest change; an upsert of an entity deleted since is left to its
+     * tombstone, further on. From {@code since=0}, tombstones are left out as there is nothing to delete yet.
+     */
+    @Transactional(readOnly = true)
+    public ChangesPageDTO getChanges(long since, int limit) {
+        log.info("Fetching changes since {}, limit {}", since, limit);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidEntityException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (since < 0) {
+            throw new InvalidEntityException("since must be positive");
+        }
+        long compactedSeq = sequenceRepository.findById(ChangeSequence.ID).map(ChangeSequence::getCompactedSeq).orElse(0L);
+        if (since > 0 && since < compactedSeq) {
+            throw new SyncExpiredException("Changes up to " + compactedSeq + " were compacted, sync again from since=0");
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findBySeqGreaterThanOrderBySeq(since, Limit.of(limit + 1));
+        ChangesPageDTO page = new ChangesPageDTO();
+        page.setHasMore(entries.size() > limit);
+        if (page.isHasMore()) {
+            entries = entries.subList(0, limit);
+        }
+        page.setNext(entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq());
+
+        // la dernière entrée de chaque entité, dans l'ordre des séquences
+        Map<String, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            String key = entry.getEntityType() + ":" + entry.getEntityId();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+        Map<Long, TeamDTO> teams = teamRepository.findAllById(upsertedIds(latest, EntityType.TEAM)).stream()
+                .collect(Collectors.toMap(Team::getId, DtoConversionUtils::convertToTeamFieldsDTO));
+        Map<Long, PlayerDTO> players = playerRepository.findDtosByIdIn(upsertedIds(latest, EntityType.PLAYER)).stream()
+                .collect(Collectors.toMap(PlayerDTO::getId, Function.identity()));
+
+        List<ChangeDTO> changes = new ArrayList<>(latest.size());
+        for (ChangeLogEntry entry : latest.values()) {
+            ChangeDTO change = new ChangeDTO();
+            change.setSeq(entry.getSeq());
+            change.setEntityType(entry.getEntityType());
+            change.setId(entry.getEntityId());
+            change.setOperation(entry.getOperation());
+            if (entry.getOperation() == Operation.DELETE) {
+                if (since == 0) {
+                    continue;
+                }
+            } else if (entry.getEntityType() == EntityType.TEAM) {
+                change.setTeam(teams.get(entry.getEntityId()));
+                if (change.getTeam() == null) {
+                    continue;
+                }
+            } else {
+                change.setPlayer(players.get(entry.getEntityId()));
+                if (change.getPlayer() == null) {
+                    continue;
+                }
+            }
+            changes.add(change);
+        }
+        page.setChanges(changes);
+        return page;
+    }
+
+    /**
+     * Drops superseded entries and the tombstones older than the retention.
+     */
+    @Transactional
+    public void compact() {
+        int superseded = changeLogRepository.deleteSuperseded();
+        int tombstones = 0;
+        Long lastExpired = changeLogRepository.findLastTombstoneSeqBefore(Instant.now().minus(retention));
+        if (lastExpired != null) {
+            tombstones = changeLogRepository.deleteTombstonesUpTo(lastExpired);
+            sequenceRepository.raiseCompactedSeq(lastExpired);
+        }
+        if (superseded + tombstones > 0) {
+            log.info("Compacted the change log: {} superseded entries and {} tombstones removed", superseded, tombstones);
+        }
+    }
+
+    private static List<Long> upsertedIds(Map<String, ChangeLogEntry> entries, EntityType type) {
+        return entries.values().stream()
+                .filter(entry -> entry.getEntityType() == type && entry.getOperation() == Operation.UPSERT)
+                .map(ChangeLogEntry::getEntityId)
+                .toList();
+    }
+}
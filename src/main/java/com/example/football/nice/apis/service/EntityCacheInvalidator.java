@@ -0,0 +1,57 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts cached team and player DTOs touched by a write.
+ * Entries are evicted right away and, inside a transaction, once more after commit, so a read that
+ * repopulated the cache with pre-commit data while the transaction was running does not survive it.
+ */
+@Component
+public class EntityCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public void evictTeam(Long teamId) {
+        evict(CacheConfig.TEAMS, teamId == null ? List.of() : List.of(teamId));
+    }
+
+    public void evictTeams(Collection<Long> teamIds) {
+        evict(CacheConfig.TEAMS, teamIds);
+    }
+
+    public void evictPlayer(Long playerId) {
+        evict(CacheConfig.PLAYERS, playerId == null ? List.of() : List.of(playerId));
+    }
+
+    public void evictPlayers(Collection<Long> playerIds) {
+        evict(CacheConfig.PLAYERS, playerIds);
+    }
+
+    private void evict(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        List<Long> keys = List.copyOf(ids);
+        keys.forEach(cache::evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    keys.forEach(cache::evict);
+                }
+            });
+        }
+    }
+}
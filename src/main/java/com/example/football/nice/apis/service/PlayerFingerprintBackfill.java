@@ -0,0 +1,50 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.util.PlayerUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills {@code player.fingerprint} for rows written before the column existed, 500 rows per transaction.
+ * On an up-to-date database this costs a single query at startup.
+ */
+@Slf4j
+@Component
+public class PlayerFingerprintBackfill implements ApplicationRunner {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        try {
+            int updated;
+            do {
+                updated = transactionTemplate.execute(status -> {
+                    List<Player> players = playerRepository.findTop500ByFingerprintIsNull();
+                    players.forEach(player -> player.setFingerprint(PlayerUtils.fingerprint(player)));
+                    return players.size();
+                });
+                total += updated;
+            } while (updated > 0);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Player fingerprint backfill stopped, identical players already exist: {}", e.getMostSpecificCause().getMessage());
+        }
+        if (total > 0) {
+            log.info("Backfilled fingerprint of {} players", total);
+        }
+    }
+}
@@ -1,40 +1,142 @@
 package com.example.football.nice.apis.service;
 
+import com.example.football.nice.apis.dto.CursorPageDTO;
 import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.PlayerSearchCriteria;
 import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
 import com.example.football.nice.apis.exception.DuplicateEntityException;
 import com.example.football.nice.apis.exception.EntityNotFoundException;
+import com.example.football.nice.apis.exception.InvalidEntityException;
 import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.PlayerSpecifications;
 import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.config.CacheConfig;
+import com.example.football.nice.apis.util.CursorUtils;
 import com.example.football.nice.apis.util.DtoConversionUtils;
+import com.example.football.nice.apis.util.ETagUtils;
+import com.example.football.nice.apis.util.MergePatchUtils;
+import com.example.football.nice.apis.util.PlayerUtils;
+import com.example.football.nice.apis.util.RosterEntry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed("football.service")
 public class PlayerService {
 
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "lastName", "firstName", "position");
+    private static final String SEARCH_SORT_FIELD = "id";
+    private static final Set<String> PATCH_FIELDS = Set.of("firstName", "lastName", "position", "jerseyNumber", "age",
+            "nationality", "size", "salary", "teamId");
+
     @Autowired
     private PlayerRepository playerRepository;
 
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private EntityCacheInvalidator entityCache;
+
+    @Autowired
+    private RosterRules rosterRules;
+
+    @Autowired
+    private RosterEventPublisher events;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public List<PlayerDTO> getAllPlayers() {
         log.info("Fetching all players");
-        return playerRepository.findAll().stream().map(DtoConversionUtils::convertToPlayerDTO).collect(Collectors.toList());
+        return playerRepository.findAllAsDto();
+    }
+
+    /**
+     * Pushes every player to the consumer as soon as its row is read, without materializing the full list.
+     * Rows are projected straight into DTOs, so the persistence context does not grow with the result set.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllPlayers(Consumer<PlayerDTO> consumer) {
+        log.info("Streaming all players");
+        try (Stream<PlayerDTO> players = playerRepository.streamAllAsDto()) {
+            players.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PlayerDTO> getPlayersAfter(String after, int size, String sortBy) {
+        log.info("Fetching players with keyset pagination sorted by {}", sortBy);
+        CursorUtils.checkPageSize(size);
+        Sort sort = CursorUtils.keysetSort(sortBy, CURSOR_SORT_FIELDS);
+        ScrollPosition position = CursorUtils.decode(after, Player.class, sortBy);
+        Window<Player> window = playerRepository.findAllBy(position, sort, Limit.of(size));
+        return CursorUtils.toPage(window, DtoConversionUtils::convertToPlayerDTO);
+    }
+
+    /**
+     * Filters players on any combination of {@link PlayerSearchCriteria}, one keyset page at a time in id order.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PlayerDTO> searchPlayers(PlayerSearchCriteria criteria, String after, int size) {
+        log.info("Searching players");
+        CursorUtils.checkPageSize(size);
+        checkRange("age", criteria.getMinAge(), criteria.getMaxAge());
+        checkRange("salary", criteria.getMinSalary(), criteria.getMaxSalary());
+        Sort sort = CursorUtils.keysetSort(SEARCH_SORT_FIELD, CURSOR_SORT_FIELDS);
+        ScrollPosition position = CursorUtils.decode(after, Player.class, SEARCH_SORT_FIELD);
+        Window<Player> window = playerRepository.findBy(PlayerSpecifications.matching(criteria),
+                query -> query.sortBy(sort).limit(size).scroll(position));
+        return CursorUtils.toPage(window, DtoConversionUtils::convertToPlayerDTO);
+    }
+
+    private static <T extends Comparable<T>> void checkRange(String field, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new InvalidEntityException("Minimum " + field + " must not be greater than maximum " + field);
+        }
     }
 
+    @Cacheable(cacheNames = CacheConfig.PLAYERS, key = "#id")
+    @Transactional(readOnly = true)
     public PlayerDTO getPlayerById(Long id) {
         log.info("Fetching player with id {}", id);
-        Player player = playerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Player not found with id " + id));
-        return DtoConversionUtils.convertToPlayerDTO(player);
+        return playerRepository.findDtoById(id).orElseThrow(() -> new EntityNotFoundException("Player not found with id " + id));
     }
 
+    @Transactional(readOnly = true)
+    public String getPlayerETag(Long id) {
+        return playerRepository.findVersionsById(id).map(ETagUtils::forPlayer)
+                .orElseThrow(() -> new EntityNotFoundException("Player not found with id " + id));
+    }
+
+    @Transactional
     public PlayerDTO createPlayer(PlayerDTO playerDTO) {
         log.info("Creating new player");
         if (playerRepository.existsByFirstNameAndLastName(playerDTO.getFirstName(), playerDTO.getLastName())) {
@@ -42,21 +144,138 @@ public class PlayerService {
         }
         Player player = new Player();
         DtoConversionUtils.updatePlayerFromDTO(player, playerDTO, teamRepository);
+        touchRosters(player.getTeam());
+        rosterRules.move(null, null, player.getTeam(), RosterEntry.of(player));
         Player savedPlayer = playerRepository.save(player);
+        entityCache.evictTeam(teamId(savedPlayer));
+        events.playerCreated(savedPlayer.getId(), teamId(savedPlayer));
         return DtoConversionUtils.convertToPlayerDTO(savedPlayer);
     }
 
+    @Transactional
     public PlayerDTO updatePlayer(Long id, PlayerDTO playerDTO) {
+        return updatePlayer(id, playerDTO, null);
+    }
+
+    @Transactional
+    public PlayerDTO updatePlayer(Long id, PlayerDTO playerDTO, String ifMatch) {
         log.info("Updating player with id {}", id);
         Player player = playerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Player not found with id " + id));
+        Team previousTeam = player.getTeam();
+        ETagUtils.checkPlayerIfMatch(ifMatch, player.getVersion());
+        Long previousVersion = player.getVersion();
+        RosterEntry previousEntry = RosterEntry.of(player);
         DtoConversionUtils.updatePlayerFromDTO(player, playerDTO, teamRepository);
+        touchRosters(previousTeam, player.getTeam());
+        rosterRules.move(previousTeam, previousEntry, player.getTeam(), RosterEntry.of(player));
         Player savedPlayer = playerRepository.save(player);
+        // Le flush attribue sa nouvelle version au joueur avant la construction de la réponse
+        playerRepository.flush();
+        entityCache.evictPlayer(id);
+        entityCache.evictTeam(teamId(previousTeam));
+        entityCache.evictTeam(teamId(savedPlayer));
+        if (!Objects.equals(savedPlayer.getVersion(), previousVersion)) {
+            events.playerUpdated(id, teamId(previousTeam), teamId(savedPlayer));
+        }
         return DtoConversionUtils.convertToPlayerDTO(savedPlayer);
     }
 
+    /**
+     * Applies a JSON merge patch to a player; only the columns whose value changed are written.
+     * {@code "teamId": null} removes the player from its team.
+     *
+     * @return the ETag of the patched player.
+     */
+    @Transactional
+    public String patchPlayer(Long id, JsonNode patch, String ifMatch) {
+        log.info("Patching player with id {}", id);
+        MergePatchUtils.checkPatch(patch, PATCH_FIELDS);
+        Player player = playerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Player not found with id " + id));
+        Team previousTeam = player.getTeam();
+        if (ifMatch != null) {
+            ETagUtils.checkPlayerIfMatch(ifMatch, player.getVersion());
+        }
+
+        Long previousVersion = player.getVersion();
+        PlayerDTO current = new PlayerDTO();
+        DtoConversionUtils.updatePlayerDTOFromPlayer(current, player);
+        current.setTeamId(teamId(previousTeam));
+        PlayerDTO patched = MergePatchUtils.apply(objectMapper, current, patch, PlayerDTO.class);
+        if (patched.getFirstName() == null || patched.getLastName() == null || patched.getPosition() == null) {
+            throw new InvalidEntityException("firstName, lastName and position are required");
+        }
+        boolean renamed = !patched.getFirstName().equals(player.getFirstName()) || !patched.getLastName().equals(player.getLastName());
+        if (renamed && playerRepository.existsByFirstNameAndLastName(patched.getFirstName(), patched.getLastName())) {
+            throw new DuplicateEntityException("Player already exists with name " + patched.getFirstName() + " " + patched.getLastName());
+        }
+
+        String previousContent = PlayerUtils.fingerprint(player);
+        RosterEntry previousEntry = RosterEntry.of(player);
+        DtoConversionUtils.updatePlayerFromDTO(player, patched);
+        Team team = previousTeam;
+        if (!Objects.equals(patched.getTeamId(), teamId(previousTeam))) {
+            team = patched.getTeamId() == null ? null : teamRepository.findById(patched.getTeamId())
+                    .orElseThrow(() -> new EntityNotFoundException("Team not found with id " + patched.getTeamId()));
+            player.setTeam(team);
+        }
+        boolean rosterChanged = team != previousTeam || !previousContent.equals(PlayerUtils.fingerprint(player));
+        if (rosterChanged) {
+            touchRosters(previousTeam, team);
+            rosterRules.move(previousTeam, previousEntry, team, RosterEntry.of(player));
+        }
+        playerRepository.flush();
+        if (rosterChanged) {
+            entityCache.evictPlayer(id);
+            entityCache.evictTeam(teamId(previousTeam));
+            entityCache.evictTeam(teamId(team));
+        }
+        if (!Objects.equals(player.getVersion(), previousVersion)) {
+            events.playerUpdated(id, teamId(previousTeam), teamId(team));
+        }
+        return ETagUtils.forPlayer(player.getVersion(), team != null ? team.getVersion() : null);
+    }
+
+    @Transactional
     public void deletePlayer(Long id) {
+        deletePlayer(id, null);
+    }
+
+    @Transactional
+    public void deletePlayer(Long id, String ifMatch) {
         log.info("Deleting player with id {}", id);
         Player player = playerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Player not found with id " + id));
+        Team team = player.getTeam();
+        ETagUtils.checkPlayerIfMatch(ifMatch, player.getVersion());
+        touchRosters(team);
+        rosterRules.move(team, RosterEntry.of(player), null, null);
         playerRepository.delete(player);
+        entityCache.evictPlayer(id);
+        entityCache.evictTeam(teamId(player));
+        events.playerDeleted(id, teamId(player));
+    }
+
+    /**
+     * Bumps the version of the given teams, since the roster embedded in their representation changed.
+     * The increment is written immediately under a row lock, taken in id order, so the returned DTOs
+     * already carry the new team version and concurrent roster writes on a team are serialized; the
+     * roster rules rely on it. Call it before the flush: once the team row is written, locking it again
+     * would bump its version a second time.
+     */
+    private void touchRosters(Team... teams) {
+        Map<Long, Team> teamsById = new TreeMap<>();
+        for (Team team : teams) {
+            if (team != null) {
+                teamsById.putIfAbsent(team.getId(), team);
+            }
+        }
+        teamsById.values().forEach(team -> entityManager.lock(team, LockModeType.PESSIMISTIC_FORCE_INCREMENT));
+    }
+
+    private static Long teamId(Player player) {
+        return teamId(player.getTeam());
+    }
+
+    private static Long teamId(Team team) {
+        return team != null ? team.getId() : null;
     }
 }
@@ -0,0 +1,267 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.dto.RosterEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed roster events out to the Server-Sent Events subscribers of {@code /api/events}.
+ * <ul>
+ *     <li>Subscribers are indexed by the teams they follow, so an event only visits the subscribers of its teams
+ *     plus those following every team.</li>
+ *     <li>Each event is serialized once into an SSE frame shared by all its subscribers.</li>
+ *     <li>Each subscriber has a bounded queue of {@code football.events.buffer-size} frames, drained by its own
+ *     virtual thread: publishing never blocks on a slow client. A subscriber whose queue is full is disconnected,
+ *     as it can no longer get every event; the client reconnects and fetches the current state again. The events
+ *     of a bulk write are published together and take a single place in the queue.</li>
+ *     <li>Event ids are assigned and frames queued under one lock, so every subscriber receives its events in
+ *     order, with increasing ids. The ids are kept in memory by each instance and restart on every boot: they
+ *     order the events of one connection, nothing more. {@code Last-Event-ID} is not read, and a client that
+ *     reconnects fetches the current state again.</li>
+ *     <li>A heartbeat comment every {@code football.events.heartbeat} keeps idle connections open through proxies
+ *     and detects clients that went away.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RosterEventBroadcaster {
+
+    private static final List<Set<DataWithMediaType>> HEARTBEAT = List.of(SseEmitter.event().comment("heartbeat").build());
+    private static final List<Set<DataWithMediaType>> SUBSCRIBED = List.of(SseEmitter.event().comment("subscribed").build());
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${football.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${football.events.heartbeat:15s}")
+    private Duration heartbeat;
+
+    private final Set<Subscriber> allTeamsSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> subscribersByTeam = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object publishLock = new Object();
+    private long sequence;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService heartbeats;
+    private Counter published;
+    private Counter dropped;
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("football.events.subscribers", subscribers, Set::size)
+                .description("Clients connected to the event stream")
+                .register(meterRegistry);
+        published = Counter.builder("football.events.published")
+                .description("Roster events published to the event stream")
+                .register(meterRegistry);
+        dropped = Counter.builder("football.events.dropped")
+                .description("Subscribers disconnected because they did not keep up with the event stream")
+                .register(meterRegistry);
+        heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        List.copyOf(subscribers).forEach(subscriber -> subscriber.close(false));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Registers a subscriber to the events of the given teams, or of every team if none is given.
+     */
+    public void subscribe(SseEmitter emitter, Collection<Long> teamIds) {
+        Subscriber subscriber = new Subscriber(emitter, teamIds == null ? List.of() : List.copyOf(teamIds));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        if (subscriber.teamIds.isEmpty()) {
+            allTeamsSubscribers.add(subscriber);
+        } else {
+            // inside compute, so that a concurrent remove cannot drop the set this subscriber is added to
+            subscriber.teamIds.forEach(teamId -> subscribersByTeam.compute(teamId, (id, teamSubscribers) -> {
+                Set<Subscriber> updated = teamSubscribers != null ? teamSubscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            }));
+        }
+        subscriber.offer(SUBSCRIBED);
+    }
+
+    public void publish(RosterEventDTO event) {
+        publish(List.of(event));
+    }
+
+    /**
+     * Publishes events that must reach each subscriber together, in one place of its queue.
+     */
+    public void publish(List<RosterEventDTO> events) {
+        published.increment(events.size());
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<String> payloads = events.stream().map(this::serialize).toList();
+        List<Subscriber> lagging = new ArrayList<>();
+        synchronized (publishLock) {
+            Map<Subscriber, List<Set<DataWithMediaType>>> frames = new LinkedHashMap<>();
+            for (int i = 0; i < events.size(); i++) {
+                RosterEventDTO event = events.get(i);
+                Set<DataWithMediaType> frame = frame(event, payloads.get(i));
+                recipients(event).forEach(subscriber -> frames.computeIfAbsent(subscriber, s -> new ArrayList<>()).add(frame));
+            }
+            frames.forEach((subscriber, batch) -> {
+                if (!subscriber.enqueue(batch)) {
+                    lagging.add(subscriber);
+                }
+            });
+        }
+        // outside the lock: completing an emitter waits for a send in progress, which may be stuck on the network
+        lagging.forEach(Subscriber::drop);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private Set<Subscriber> teamSubscribers(Long teamId) {
+        return teamId == null ? Set.of() : subscribersByTeam.getOrDefault(teamId, Set.of());
+    }
+
+    private Set<Subscriber> recipients(RosterEventDTO event) {
+        Set<Subscriber> recipients = new LinkedHashSet<>(allTeamsSubscribers);
+        recipients.addAll(teamSubscribers(event.getTeamId()));
+        // a subscriber following both teams of a transfer gets the event once
+        recipients.addAll(teamSubscribers(event.getPreviousTeamId()));
+        return recipients;
+    }
+
+    private String serialize(RosterEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // called under the publish lock, so ids reach every subscriber in increasing order
+    private Set<DataWithMediaType> frame(RosterEventDTO event, String payload) {
+        return SseEmitter.event()
+                .id(Long.toString(++sequence))
+                .name(event.getType().name())
+                .data(payload, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        allTeamsSubscribers.remove(subscriber);
+        for (Long teamId : subscriber.teamIds) {
+            subscribersByTeam.computeIfPresent(teamId, (id, teamSubscribers) -> {
+                teamSubscribers.remove(subscriber);
+                return teamSubscribers.isEmpty() ? null : teamSubscribers;
+            });
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final List<Long> teamIds;
+        private final BlockingQueue<List<Set<DataWithMediaType>>> frames = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, List<Long> teamIds) {
+            this.emitter = emitter;
+            this.teamIds = teamIds;
+        }
+
+        void offer(List<Set<DataWithMediaType>> batch) {
+            if (!enqueue(batch)) {
+                drop();
+            }
+        }
+
+        boolean enqueue(List<Set<DataWithMediaType>> batch) {
+            if (!frames.offer(batch)) {
+                return false;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+            return true;
+        }
+
+        void drop() {
+            log.warn("Event subscriber fell {} deliveries behind, disconnecting it", bufferSize);
+            dropped.increment();
+            close(false);
+        }
+
+        // one sender at a time per subscriber, so frames go out in order
+        private void send() {
+            try {
+                do {
+                    List<Set<DataWithMediaType>> batch;
+                    while ((batch = frames.poll()) != null) {
+                        for (Set<DataWithMediaType> frame : batch) {
+                            emitter.send(frame);
+                        }
+                    }
+                    sending.set(false);
+                } while (!frames.isEmpty() && sending.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the emitter completed: the container reports it through the callbacks
+                close(true);
+            }
+        }
+
+        void close(boolean failed) {
+            remove(this);
+            frames.clear();
+            if (!failed) {
+                emitter.complete();
+            }
+        }
+    }
+}
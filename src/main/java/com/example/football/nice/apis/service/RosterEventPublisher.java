@@ -0,0 +1,98 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.dto.RosterEventDTO;
+import com.example.football.nice.apis.dto.RosterEventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Publishes the changes made by a write to the event subscribers ({@link RosterEventBroadcaster}).
+ * Inside a transaction, events are held until it commits and dropped if it rolls back; outside, the write has
+ * already been committed and they go out right away.
+ * Bulk imports publish one batch per transaction, which subscribers receive in one delivery.
+ */
+@Component
+public class RosterEventPublisher {
+
+    @Autowired
+    private RosterEventBroadcaster broadcaster;
+
+    public void teamCreated(Long teamId) {
+        publish(RosterEventType.TEAM_CREATED, null, teamId, null);
+    }
+
+    public void teamUpdated(Long teamId) {
+        publish(RosterEventType.TEAM_UPDATED, null, teamId, null);
+    }
+
+    public void teamDeleted(Long teamId) {
+        publish(RosterEventType.TEAM_DELETED, null, teamId, null);
+    }
+
+    public void playerCreated(Long playerId, Long teamId) {
+        publish(RosterEventType.PLAYER_CREATED, playerId, teamId, null);
+    }
+
+    /**
+     * A transfer if the player changed team, an update otherwise.
+     */
+    public void playerUpdated(Long playerId, Long previousTeamId, Long teamId) {
+        if (Objects.equals(previousTeamId, teamId)) {
+            publish(RosterEventType.PLAYER_UPDATED, playerId, teamId, null);
+        } else {
+            publish(RosterEventType.PLAYER_TRANSFERRED, playerId, teamId, previousTeamId);
+        }
+    }
+
+    public void playerDeleted(Long playerId, Long teamId) {
+        publish(RosterEventType.PLAYER_DELETED, playerId, teamId, null);
+    }
+
+    /**
+     * Teams created by a bulk import.
+     */
+    public void teamsCreated(Collection<Long> teamIds) {
+        publish(committedAt -> teamIds.stream()
+                .map(teamId -> new RosterEventDTO(RosterEventType.TEAM_CREATED, null, teamId, null, committedAt))
+                .toList());
+    }
+
+    /**
+     * Players created by a bulk import: one {@link RosterEventType#TEAM_UPDATED} per team whose roster grew, as
+     * for a roster replaced through the team endpoints, and a {@link RosterEventType#PLAYER_CREATED} per free agent.
+     */
+    public void playersImported(Collection<Long> teamIds, Collection<Long> freeAgentIds) {
+        publish(committedAt -> {
+            List<RosterEventDTO> batch = new ArrayList<>(teamIds.size() + freeAgentIds.size());
+            teamIds.forEach(teamId -> batch.add(new RosterEventDTO(RosterEventType.TEAM_UPDATED, null, teamId, null, committedAt)));
+            freeAgentIds.forEach(playerId -> batch.add(new RosterEventDTO(RosterEventType.PLAYER_CREATED, playerId, null, null, committedAt)));
+            return batch;
+        });
+    }
+
+    private void publish(RosterEventType type, Long playerId, Long teamId, Long previousTeamId) {
+        publish(committedAt -> List.of(new RosterEventDTO(type, playerId, teamId, previousTeamId, committedAt)));
+    }
+
+    private void publish(Function<Instant, List<RosterEventDTO>> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcaster.publish(events.apply(Instant.now()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                broadcaster.publish(events.apply(Instant.now()));
+            }
+        });
+    }
+}
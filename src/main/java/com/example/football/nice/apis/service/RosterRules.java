@@ -0,0 +1,172 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.exception.InvalidEntityException;
+import com.example.football.nice.apis.exception.RosterRuleException;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.util.RosterDiff;
+import com.example.football.nice.apis.util.RosterEntry;
+import com.example.football.nice.apis.util.RosterTotals;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Roster rules, checked on every write that changes a roster: the payroll fits the team budget, a squad has at
+ * most {@code football.roster.max-squad-size} players (0 for no limit) and jersey numbers, from 1 to 99, are
+ * unique within a team. Each check runs in constant time against the {@link RosterTotals} stored on the team
+ * row and updated in the same transaction. Callers hold the team lock taken by every roster write, so
+ * concurrent writes on a team are serialized and always see each other's totals.
+ * A write is only rejected for what it makes worse: a team already over its budget can still release players.
+ */
+@Slf4j
+@Service
+public class RosterRules {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${football.roster.budget-cap:true}")
+    private boolean budgetCap;
+
+    @Value("${football.roster.max-squad-size:0}")
+    private int maxSquadSize;
+
+    @Value("${football.roster.unique-jersey-numbers:true}")
+    private boolean uniqueJerseyNumbers;
+
+    /**
+     * Computes the totals of a team that is not saved yet from its players, and checks them.
+     */
+    public void initialize(Team team) {
+        RosterTotals totals = RosterTotals.of(team.getPlayers().stream().map(RosterEntry::of).collect(Collectors.toList()));
+        check(team, 0, 0, totals, team.getBudget());
+        store(team, totals);
+    }
+
+    /**
+     * A player leaves {@code from} and joins {@code to}, either of which may be {@code null}; when both are the
+     * same team, its entry changed in place. Both teams must be locked already.
+     */
+    public void move(Team from, RosterEntry before, Team to, RosterEntry after) {
+        if (from != null && from == to) {
+            RosterTotals totals = totals(from);
+            int playerCount = totals.getPlayerCount();
+            long payrollCents = totals.getPayrollCents();
+            totals.remove(before);
+            totals.add(after);
+            check(from, playerCount, payrollCents, totals, from.getBudget());
+            store(from, totals);
+            return;
+        }
+        if (from != null) {
+            RosterTotals totals = totals(from);
+            totals.remove(before);
+            store(from, totals);
+        }
+        if (to != null) {
+            RosterTotals totals = totals(to);
+            int playerCount = totals.getPlayerCount();
+            long payrollCents = totals.getPayrollCents();
+            totals.add(after);
+            check(to, playerCount, payrollCents, totals, to.getBudget());
+            store(to, totals);
+        }
+    }
+
+    /**
+     * Checks the roster changes and the new budget of a locked team, before they are applied to it.
+     */
+    public void replace(Team team, RosterDiff roster, Double budget) {
+        RosterTotals totals = totals(team);
+        int playerCount = totals.getPlayerCount();
+        long payrollCents = totals.getPayrollCents();
+        roster.applyTo(totals);
+        check(team, playerCount, payrollCents, totals, budget);
+        store(team, totals);
+    }
+
+    /**
+     * Checks a new budget alone. Only a lower budget can break a rule, so any other change costs nothing.
+     */
+    public void checkBudget(Team team, Double budget) {
+        if (budgetCap && budget != null && team.getBudget() != null && budget < team.getBudget()) {
+            RosterTotals totals = totals(team);
+            check(team, totals.getPlayerCount(), totals.getPayrollCents(), totals, budget);
+            store(team, totals);
+        }
+    }
+
+    /**
+     * Adds new players to existing teams, by team id. The teams are locked here, in id order, with the same lock as
+     * any other roster write.
+     */
+    public void addPlayers(Map<Long, List<RosterEntry>> entriesByTeamId) {
+        new TreeMap<>(entriesByTeamId).forEach((teamId, entries) -> {
+            Team team = entityManager.find(Team.class, teamId, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            if (team != null) {
+                RosterTotals totals = totals(team);
+                int playerCount = totals.getPlayerCount();
+                long payrollCents = totals.getPayrollCents();
+                entries.forEach(totals::add);
+                check(team, playerCount, payrollCents, totals, team.getBudget());
+                store(team, totals);
+            }
+        });
+    }
+
+    private RosterTotals totals(Team team) {
+        if (team.getPlayerCount() == null || team.getJerseyNumberCounts() == null) {
+            // équipe antérieure aux totaux, ou au décompte par numéro : calculés une fois depuis ses joueurs,
+            // sans juger l'existant
+            RosterTotals totals = RosterTotals.of(playerRepository.findRosterEntriesByTeamId(team.getId()));
+            totals.forgetJerseyNumberProblems();
+            log.info("Computed roster totals of team {}", team.getId());
+            return totals;
+        }
+        return new RosterTotals(team.getPlayerCount(), team.getPayrollCents(), team.getJerseyNumberCounts());
+    }
+
+    private static void store(Team team, RosterTotals totals) {
+        team.setPlayerCount(totals.getPlayerCount());
+        team.setPayrollCents(totals.getPayrollCents());
+        team.setJerseyNumberCounts(totals.toJerseyNumberCounts());
+    }
+
+    private void check(Team team, int playerCountBefore, long payrollCentsBefore, RosterTotals totals, Double budget) {
+        if (uniqueJerseyNumbers) {
+            if (totals.getInvalidJerseyNumber() != null) {
+                throw new InvalidEntityException("Jersey number must be between " + RosterTotals.MIN_JERSEY_NUMBER
+                        + " and " + RosterTotals.MAX_JERSEY_NUMBER + ", got " + totals.getInvalidJerseyNumber());
+            }
+            if (totals.getDuplicateJerseyNumber() != null) {
+                throw new RosterRuleException("Jersey number " + totals.getDuplicateJerseyNumber()
+                        + " is already taken in team " + team.getName());
+            }
+        }
+        if (maxSquadSize > 0 && totals.getPlayerCount() > maxSquadSize && totals.getPlayerCount() > playerCountBefore) {
+            throw new RosterRuleException("Team " + team.getName() + " would have " + totals.getPlayerCount()
+                    + " players, the squad limit is " + maxSquadSize);
+        }
+        if (budgetCap && budget != null && totals.getPayrollCents() > RosterTotals.cents(budget)) {
+            boolean budgetLowered = team.getBudget() != null && budget < team.getBudget();
+            if (totals.getPayrollCents() > payrollCentsBefore || budgetLowered) {
+                throw new RosterRuleException(String.format(Locale.ROOT, "Payroll of team %s would be %.2f, over its budget of %.2f",
+                        team.getName(), totals.getPayrollCents() / 100.0, budget));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.dto.LeagueStatsDTO;
+import com.example.football.nice.apis.dto.PositionStatsDTO;
+import com.example.football.nice.apis.dto.TeamStatsDTO;
+import com.example.football.nice.apis.entity.PositionSalarySummary;
+import com.example.football.nice.apis.exception.EntityNotFoundException;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.PositionSalarySummaryRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Payroll and squad figures, aggregated by the database so only the summaries leave it. Team figures are
+ * GROUP BY queries on the team's players; league figures without a filter come from the
+ * {@code position_salary_summary} table when {@code football.stats.summary.enabled} is on.
+ */
+@Slf4j
+@Service
+@Timed("football.service")
+public class StatsService implements ApplicationRunner {
+
+    // key of the advisory lock taken around summary rebuilds
+    private static final long SUMMARY_LOCK = "position_salary_summary".hashCode();
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PositionSalarySummaryRepository summaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${football.stats.summary.enabled:true}")
+    private boolean summaryEnabled;
+
+    @Value("${football.stats.summary.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    /**
+     * Builds the summary table when it is empty, e.g. on a new database, or when
+     * {@code football.stats.summary.rebuild-on-startup} asks for it. Otherwise the table is kept as it is: the
+     * writes keep it current, and rebuilding it at every startup would race with the other instances.
+     */
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (!summaryEnabled) {
+            return;
+        }
+        lockSummary();
+        if (rebuildOnStartup || summaryRepository.count() == 0) {
+            rebuildSummary();
+        }
+    }
+
+    /**
+     * Recomputes the summary table from the player table, e.g. after players were changed outside of the API.
+     */
+    @Transactional
+    public void rebuildSummary() {
+        lockSummary();
+        summaryRepository.clear();
+        int positions = summaryRepository.rebuild();
+        log.info("Rebuilt position_salary_summary with {} positions", positions);
+    }
+
+    // Sur PostgreSQL, les instances qui démarrent ensemble attendent ici jusqu'à la fin de la transaction
+    // qui tient le verrou : une seule reconstruit la table, les suivantes la trouvent remplie.
+    private void lockSummary() {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                try (PreparedStatement lock = connection.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+                    lock.setLong(1, SUMMARY_LOCK);
+                    lock.execute();
+                }
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public TeamStatsDTO getTeamStats(Long id) {
+        log.info("Computing stats of team {}", id);
+        TeamStatsDTO stats = teamRepository.findStatsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Team not found with id " + id));
+        stats.setPositions(playerRepository.findPositionStatsByTeamId(id));
+        return stats;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PositionStatsDTO> getSalaryByPosition(String nationality) {
+        log.info("Computing salary by position, nationality {}", nationality);
+        if (nationality == null && summaryEnabled) {
+            return summaryRepository.findNonEmpty().stream().map(StatsService::toPositionStats).toList();
+        }
+        return playerRepository.findPositionStats(nationality);
+    }
+
+    @Transactional(readOnly = true)
+    public LeagueStatsDTO getLeagueStats() {
+        log.info("Computing league stats");
+        LeagueStatsDTO stats;
+        if (summaryEnabled) {
+            List<PositionSalarySummary> rows = summaryRepository.findNonEmpty();
+            long players = 0;
+            double payroll = 0;
+            long salaries = 0;
+            long totalAge = 0;
+            long ages = 0;
+            for (PositionSalarySummary row : rows) {
+                players += row.getPlayerCount();
+                payroll += row.getTotalSalary();
+                salaries += row.getSalaryCount();
+                totalAge += row.getTotalAge();
+                ages += row.getAgeCount();
+            }
+            stats = new LeagueStatsDTO(players, payroll, salaries == 0 ? null : payroll / salaries,
+                    ages == 0 ? null : (double) totalAge / ages);
+            stats.setPositions(rows.stream().map(StatsService::toPositionStats).toList());
+        } else {
+            stats = playerRepository.findLeagueStats();
+            stats.setPositions(playerRepository.findPositionStats(null));
+        }
+        stats.setTeamCount(teamRepository.count());
+        return stats;
+    }
+
+    private static PositionStatsDTO toPositionStats(PositionSalarySummary summary) {
+        return new PositionStatsDTO(summary.getPosition(), summary.getPlayerCount(), summary.getTotalSalary(),
+                summary.getSalaryCount() == 0 ? null : summary.getTotalSalary() / summary.getSalaryCount(),
+                summary.getAgeCount() == 0 ? null : (double) summary.getTotalAge() / summary.getAgeCount());
+    }
+}
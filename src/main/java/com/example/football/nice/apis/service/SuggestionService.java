@@ -0,0 +1,92 @@
+package com.example.football.nice.apis.service;
+
+import com.example.football.nice.apis.dto.SuggestionDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.exception.InvalidEntityException;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.NameSuggestIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Autocomplete on player and team names, answered from two {@link NameSuggestIndex} kept in memory.
+ * The indexes are loaded once at startup, then follow every committed insert, update and delete of players
+ * and teams through {@link com.example.football.nice.apis.config.SuggestionIndexListener}.
+ */
+@Slf4j
+@Service
+public class SuggestionService implements ApplicationRunner {
+
+    public static final int MAX_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final NameSuggestIndex players = new NameSuggestIndex();
+    private final NameSuggestIndex teams = new NameSuggestIndex();
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        playerRepository.findAllNames().forEach(player -> players.put(player.id(), player.name()));
+        teamRepository.findAllNames().forEach(team -> teams.put(team.id(), team.name()));
+        log.info("Suggestion indexes built with {} players and {} teams in {} ms", players.size(), teams.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Timed("football.service")
+    public List<SuggestionDTO> suggestPlayers(String query, int limit) {
+        return suggest(players, query, limit);
+    }
+
+    @Timed("football.service")
+    public List<SuggestionDTO> suggestTeams(String query, int limit) {
+        return suggest(teams, query, limit);
+    }
+
+    public void indexPlayer(Player player) {
+        players.put(player.getId(), player.getFirstName() + " " + player.getLastName());
+    }
+
+    public void unindexPlayer(Long id) {
+        players.remove(id);
+    }
+
+    public void indexTeam(Team team) {
+        teams.put(team.getId(), team.getName());
+    }
+
+    public void unindexTeam(Long id) {
+        teams.remove(id);
+    }
+
+    private static List<SuggestionDTO> suggest(NameSuggestIndex index, String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidEntityException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (query == null || query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidEntityException("Query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        return index.suggest(query, limit).stream().map(suggestion -> {
+            SuggestionDTO dto = new SuggestionDTO();
+            dto.setId(suggestion.id());
+            dto.setName(suggestion.name());
+            dto.setScore(suggestion.score());
+            return dto;
+        }).toList();
+    }
+}
@@ -1,25 +1,50 @@
 package com.example.football.nice.apis.service;
 
+import com.example.football.nice.apis.config.CacheConfig;
+import com.example.football.nice.apis.dto.CursorPageDTO;
 import com.example.football.nice.apis.dto.PlayerDTO;
 import com.example.football.nice.apis.dto.TeamDTO;
 import com.example.football.nice.apis.entity.Player;
 import com.example.football.nice.apis.entity.Team;
 import com.example.football.nice.apis.exception.DuplicateEntityException;
 import com.example.football.nice.apis.exception.EntityNotFoundException;
+import com.example.football.nice.apis.exception.InvalidEntityException;
 import com.example.football.nice.apis.repository.PlayerRepository;
 import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.CursorUtils;
 import com.example.football.nice.apis.util.DtoConversionUtils;
+import com.example.football.nice.apis.util.ETagUtils;
+import com.example.football.nice.apis.util.MergePatchUtils;
 import com.example.football.nice.apis.util.PlayerUtils;
+import com.example.football.nice.apis.util.RosterDiff;
+import com.example.football.nice.apis.util.TeamJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import jakarta.validation.Valid;
 
@@ -28,27 +53,79 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("football.service")
 public class TeamService {
 
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "name", "acronym", "budget");
+    private static final Set<String> PATCH_FIELDS = Set.of("name", "acronym", "budget", "players");
+
     @Autowired
     private TeamRepository teamRepository;
 
     @Autowired
     private PlayerRepository playerRepository;
 
-    public List<TeamDTO> getAllTeams(int page, int size, String sortBy) {
+    @Autowired
+    private EntityCacheInvalidator entityCache;
+
+    @Autowired
+    private RosterRules rosterRules;
+
+    @Autowired
+    private RosterEventPublisher events;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public List<TeamJson> getAllTeams(int page, int size, String sortBy) {
         log.info("Fetching all teams with pagination and sorting");
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
         Page<Team> teamPage = teamRepository.findAll(pageable);
-        return teamPage.stream().map(DtoConversionUtils::convertToTeamDTO).collect(Collectors.toList());
+        loadRosters(teamPage.getContent());
+        return teamPage.stream().map(TeamJson::new).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TeamJson> getTeamsAfter(String after, int size, String sortBy) {
+        log.info("Fetching teams with keyset pagination sorted by {}", sortBy);
+        CursorUtils.checkPageSize(size);
+        Sort sort = CursorUtils.keysetSort(sortBy, CURSOR_SORT_FIELDS);
+        ScrollPosition position = CursorUtils.decode(after, Team.class, sortBy);
+        Window<Team> window = teamRepository.findAllBy(position, sort, Limit.of(size));
+        loadRosters(window.getContent());
+        return CursorUtils.toPage(window, TeamJson::new);
     }
 
+    /**
+     * Initializes the players of every team of a page with a single fetch join, instead of one lazy
+     * collection query per team when the page is written. Relies on the surrounding transaction so the
+     * fetched rosters are attached to the very instances held by the page, which {@link TeamJson} then
+     * serializes after the transaction without converting them to DTOs.
+     */
+    private void loadRosters(List<Team> teams) {
+        if (!teams.isEmpty()) {
+            teamRepository.findWithPlayersByIdIn(teams.stream().map(Team::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TEAMS, key = "#id")
+    @Transactional(readOnly = true)
     public TeamDTO getTeamById(Long id) {
         log.info("Fetching team with id {}", id);
         Team team = teamRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Team not found with id " + id));
         return DtoConversionUtils.convertToTeamDTO(team);
     }
 
+    @Transactional(readOnly = true)
+    public String getTeamETag(Long id) {
+        return teamRepository.findVersionById(id).map(ETagUtils::forTeam)
+                .orElseThrow(() -> new EntityNotFoundException("Team not found with id " + id));
+    }
+
     public TeamDTO createTeam(@Valid TeamDTO teamDTO) {
         log.info("Creating new team");
         if (teamRepository.existsByName(teamDTO.getName())) {
@@ -58,22 +135,23 @@ public class TeamService {
         if (teamDTO.getPlayers() != null) {
             PlayerUtils.checkForDuplicateNewPlayers(teamDTO.getPlayers());
         }
-        // Vérifier les doublons de joueurs dans la base
+        // Vérifier les doublons de joueurs dans la base, en une seule requête pour toute la liste
         List<PlayerDTO> players = teamDTO.getPlayers();
-        if (players != null) {
-            for (PlayerDTO player : players) {
-                if (playerRepository.existsByFirstNameAndLastNameAndPositionAndJerseyNumberAndAgeAndNationalityAndSizeAndSalary(
-                        player.getFirstName(), player.getLastName(), player.getPosition(), player.getJerseyNumber(),
-                        player.getAge(), player.getNationality(), player.getSize(), player.getSalary())) {
-                    throw new DuplicateEntityException("Player already exists in other team: " + player.getFirstName() + " " + player.getLastName());
-                }
+        if (players != null && !players.isEmpty()) {
+            Map<String, PlayerDTO> playersByFingerprint = PlayerUtils.indexByFingerprint(players);
+            List<String> existing = playerRepository.findExistingFingerprints(playersByFingerprint.keySet());
+            if (!existing.isEmpty()) {
+                PlayerDTO player = playersByFingerprint.get(existing.get(0));
+                throw new DuplicateEntityException("Player already exists in other team: " + player.getFirstName() + " " + player.getLastName());
             }
         }
+        Team team = new Team();
+        DtoConversionUtils.updateTeamFromDTO(team, teamDTO);
+        rosterRules.initialize(team);
         try {
-            Team team = new Team();
-            DtoConversionUtils.updateTeamFromDTO(team, teamDTO);
             Team savedTeam = teamRepository.save(team);
             log.info("Team created successfully with id {}", savedTeam.getId());
+            events.teamCreated(savedTeam.getId());
             return DtoConversionUtils.convertToTeamDTO(savedTeam);
         } catch (DataIntegrityViolationException e) {
             log.error("Data integrity violation while creating team: {}", e.getMostSpecificCause().getMessage());
@@ -84,37 +162,133 @@ public class TeamService {
         }
     }
 
+    @Transactional
     public TeamDTO updateTeam(Long id, @Valid TeamDTO teamDTO) {
+        return updateTeam(id, teamDTO, null);
+    }
+
+    @Transactional
+    public TeamDTO updateTeam(Long id, @Valid TeamDTO teamDTO, String ifMatch) {
         log.info("Updating team with id {}", id);
         Team team = teamRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Team not found with id " + id));
+        ETagUtils.checkIfMatch(ifMatch, ETagUtils.forTeam(team.getVersion()));
+        // Verrou sur la ligne de l'équipe : une mise à jour concurrente attend, puis échoue sur la version
+        entityManager.lock(team, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
 
         // Vérifiez les doublons de joueurs dans la nouvelle liste
         if (teamDTO.getPlayers() != null) {
             PlayerUtils.checkForDuplicateNewPlayers(teamDTO.getPlayers());
         }
+        RosterDiff roster = RosterDiff.between(team.getPlayers(), teamDTO.getPlayers());
+        rosterRules.replace(team, roster, teamDTO.getBudget());
+        // Les joueurs actuels embarquent le nom de l'équipe : leurs entrées en cache deviennent obsolètes
+        List<Long> previousPlayerIds = playerIds(team);
         try {
-            // Suppression des joueurs existants
-            team.getPlayers().clear();
-            teamRepository.save(team);
-            playerRepository.flush();
-
-            // Mise à jour de l'équipe
-            DtoConversionUtils.updateTeamFromDTO(team, teamDTO);
+            // Les suppressions partent d'abord : un joueur modifié peut reprendre l'empreinte d'un joueur retiré
+            if (roster.applyRemovals(team) > 0) {
+                playerRepository.flush();
+            }
+            DtoConversionUtils.updateTeamFieldsFromDTO(team, teamDTO);
+            roster.applyChanges(team);
             Team savedTeam = teamRepository.save(team);
+            teamRepository.flush();
+            log.info("Team {} updated, roster changes {}", id, roster);
+            entityCache.evictTeam(id);
+            entityCache.evictPlayers(previousPlayerIds);
+            events.teamUpdated(id);
             return DtoConversionUtils.convertToTeamDTO(savedTeam);
         } catch (DataIntegrityViolationException e) {
             log.error("Data integrity violation while creating team: {}", e.getMostSpecificCause().getMessage());
             throw new DataIntegrityViolationException("Data integrity violation: " + e.getMostSpecificCause().getMessage(), e);
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            log.warn("Concurrent update detected on team {}", id);
+            throw e;
         } catch (Exception e) {
             log.error("Error creating team: {}", e.getMessage(), e);
             throw new RuntimeException("An error occurred while creating the team");
         }
     }
 
+    /**
+     * Applies a JSON merge patch to a team. The roster is only loaded, and diffed, when the patch contains
+     * {@code players}; otherwise only the changed columns of the team row are written.
+     *
+     * @return the ETag of the patched team.
+     */
+    @Transactional
+    public String patchTeam(Long id, JsonNode patch, String ifMatch) {
+        log.info("Patching team with id {}", id);
+        MergePatchUtils.checkPatch(patch, PATCH_FIELDS);
+        Team team = teamRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Team not found with id " + id));
+        ETagUtils.checkIfMatch(ifMatch, ETagUtils.forTeam(team.getVersion()));
+        Long previousVersion = team.getVersion();
+        boolean patchesRoster = patch.has("players");
+
+        TeamDTO current = new TeamDTO();
+        current.setName(team.getName());
+        current.setAcronym(team.getAcronym());
+        current.setBudget(team.getBudget());
+        if (patchesRoster) {
+            current.setPlayers(DtoConversionUtils.convertToTeamDTO(team).getPlayers());
+        }
+        TeamDTO patched = MergePatchUtils.apply(objectMapper, current, patch, TeamDTO.class);
+        if (patched.getName() == null || patched.getAcronym() == null || patched.getBudget() == null) {
+            throw new InvalidEntityException("name, acronym and budget are required");
+        }
+        boolean renamed = !patched.getName().equals(team.getName());
+        if (renamed && teamRepository.existsByName(patched.getName())) {
+            throw new DuplicateEntityException("Team already exists with name " + patched.getName());
+        }
+
+        List<Long> evictedPlayerIds = new ArrayList<>();
+        if (patchesRoster) {
+            // "players": null retire la liste entière, comme tout membre supprimé par un merge patch
+            List<PlayerDTO> players = patched.getPlayers() != null ? patched.getPlayers() : List.of();
+            PlayerUtils.checkForDuplicateNewPlayers(players);
+            entityManager.lock(team, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            evictedPlayerIds.addAll(playerIds(team));
+            RosterDiff roster = RosterDiff.between(team.getPlayers(), players);
+            rosterRules.replace(team, roster, patched.getBudget());
+            if (roster.applyRemovals(team) > 0) {
+                playerRepository.flush();
+            }
+            roster.applyChanges(team);
+            log.info("Team {} patched, roster changes {}", id, roster);
+        } else {
+            rosterRules.checkBudget(team, patched.getBudget());
+            if (renamed) {
+                // les joueurs en cache embarquent le nom de l'équipe, seuls leurs ids sont lus
+                evictedPlayerIds.addAll(playerRepository.findIdsByTeamId(id));
+            }
+        }
+        DtoConversionUtils.updateTeamFieldsFromDTO(team, patched);
+        teamRepository.flush();
+        entityCache.evictTeam(id);
+        entityCache.evictPlayers(evictedPlayerIds);
+        if (!Objects.equals(team.getVersion(), previousVersion)) {
+            events.teamUpdated(id);
+        }
+        return ETagUtils.forTeam(team.getVersion());
+    }
 
+    @Transactional
     public void deleteTeam(Long id) {
+        deleteTeam(id, null);
+    }
+
+    @Transactional
+    public void deleteTeam(Long id, String ifMatch) {
         log.info("Deleting team with id {}", id);
         Team team = teamRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Team not found with id " + id));
+        ETagUtils.checkIfMatch(ifMatch, ETagUtils.forTeam(team.getVersion()));
+        List<Long> playerIds = playerIds(team);
         teamRepository.delete(team);
+        entityCache.evictTeam(id);
+        entityCache.evictPlayers(playerIds);
+        events.teamDeleted(id);
+    }
+
+    private static List<Long> playerIds(Team team) {
+        return team.getPlayers().stream().map(Player::getId).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,101 @@
+package com.example.football.nice.apis.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Issues and verifies the signed access tokens (HS256 JWTs) accepted in place of HTTP Basic.
+ * <p>
+ * The signing key and the parser are built once at startup, so verifying a token is one HMAC and a JSON parse:
+ * the password encoder and the user store are only involved when a token is issued. The granted authorities
+ * travel in the {@code roles} claim, which means a change of roles applies to the next token, at the latest
+ * after {@code football.security.jwt.ttl}: tokens are only issued against HTTP Basic, never against another
+ * token (see {@code SecurityConfig}).
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    static final String ROLES_CLAIM = "roles";
+    private static final long ALLOWED_CLOCK_SKEW_SECONDS = 30;
+
+    @Value("${football.security.jwt.secret:}")
+    private String secret;
+
+    @Value("${football.security.jwt.issuer:football-nice-apis}")
+    private String issuer;
+
+    @Value("${football.security.jwt.ttl:15m}")
+    private Duration ttl;
+
+    private SecretKey key;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank()) {
+            log.warn("football.security.jwt.secret is not set: tokens are signed with a random key and will not "
+                    + "survive a restart nor be accepted by other instances");
+            key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(issuer)
+                .setAllowedClockSkewSeconds(ALLOWED_CLOCK_SKEW_SECONDS)
+                .build();
+    }
+
+    /**
+     * Issues a token for an authenticated principal, carrying its name and authorities.
+     */
+    public String issue(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        return Jwts.builder()
+                .setSubject(authentication.getName())
+                .setIssuer(issuer)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ttl)))
+                .claim(ROLES_CLAIM, roles)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifies the signature, issuer and expiry of a token and rebuilds the authentication it stands for.
+     *
+     * @throws JwtException if the token is malformed, forged, expired or from another issuer.
+     */
+    public Authentication authenticate(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of()
+                : roles.stream().map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString())).toList();
+        return UsernamePasswordAuthenticationToken.authenticated(claims.getSubject(), null, authorities);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.CursorPageDTO;
+import com.example.football.nice.apis.exception.InvalidEntityException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes keyset scroll positions as opaque URL-safe cursors and back.
+ * A cursor carries the values of the sort key and of the id of the last element of a page,
+ * so the next page is read with a {@code WHERE (sortKey, id) > (?, ?)} seek instead of an offset.
+ */
+public class CursorUtils {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ID = "id";
+
+    public static Sort keysetSort(String sortBy, Set<String> sortableFields) {
+        if (!sortableFields.contains(sortBy)) {
+            throw new InvalidEntityException("Cannot sort by " + sortBy + ", expected one of " + sortableFields);
+        }
+        return ID.equals(sortBy) ? Sort.by(ID) : Sort.by(sortBy).and(Sort.by(ID));
+    }
+
+    public static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidEntityException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public static ScrollPosition decode(String cursor, Class<?> entityType, String sortBy) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> rawKeys;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            rawKeys = MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {});
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidEntityException("Invalid cursor: " + cursor);
+        }
+        if (!rawKeys.keySet().equals(ID.equals(sortBy) ? Set.of(ID) : Set.of(sortBy, ID))) {
+            throw new InvalidEntityException("Cursor does not match sort field " + sortBy);
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        rawKeys.forEach((property, value) -> keys.put(property, coerce(entityType, property, value)));
+        return ScrollPosition.forward(keys);
+    }
+
+    public static String encode(ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    public static <E, D> CursorPageDTO<D> toPage(Window<E> window, Function<E, D> converter) {
+        CursorPageDTO<D> page = new CursorPageDTO<>();
+        page.setItems(window.stream().map(converter).collect(Collectors.toList()));
+        if (window.hasNext() && !window.isEmpty()) {
+            page.setNext(encode(window.positionAt(window.size() - 1)));
+        }
+        return page;
+    }
+
+    // JSON loses the distinction between Integer/Long and Float/Double, so values are converted back to the field type
+    private static Object coerce(Class<?> entityType, String property, Object value) {
+        Field field = ReflectionUtils.findField(entityType, property);
+        if (field == null || value == null) {
+            throw new InvalidEntityException("Invalid cursor key: " + property);
+        }
+        try {
+            return MAPPER.convertValue(value, field.getType());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEntityException("Invalid cursor value for " + property);
+        }
+    }
+}
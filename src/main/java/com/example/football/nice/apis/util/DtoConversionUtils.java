@@ -14,6 +14,19 @@ public class DtoConversionUtils {
 
     public static PlayerDTO convertToPlayerDTO(Player player) {
         PlayerDTO playerDTO = new PlayerDTO();
+        updatePlayerDTOFromPlayer(playerDTO, player);
+        if (player.getTeam() != null) {
+            playerDTO.setTeamId(player.getTeam().getId());
+            playerDTO.setTeamName(player.getTeam().getName());
+            playerDTO.setTeamVersion(player.getTeam().getVersion());
+        }
+        return playerDTO;
+    }
+
+    /**
+     * Copies the player's own columns, leaving the team untouched so a lazy team is not loaded.
+     */
+    public static void updatePlayerDTOFromPlayer(PlayerDTO playerDTO, Player player) {
         playerDTO.setId(player.getId());
         playerDTO.setFirstName(player.getFirstName());
         playerDTO.setLastName(player.getLastName());
@@ -23,11 +36,7 @@ public class DtoConversionUtils {
         playerDTO.setNationality(player.getNationality());
         playerDTO.setSize(player.getSize());
         playerDTO.setSalary(player.getSalary());
-        if (player.getTeam() != null) {
-            playerDTO.setTeamId(player.getTeam().getId());
-            playerDTO.setTeamName(player.getTeam().getName());
-        }
-        return playerDTO;
+        playerDTO.setVersion(player.getVersion());
     }
 
     public static void updatePlayerFromDTO(Player player, PlayerDTO playerDTO, TeamRepository teamRepository) {
@@ -45,36 +54,40 @@ public class DtoConversionUtils {
     }
 
     public static TeamDTO convertToTeamDTO(Team team) {
-        TeamDTO teamDTO = new TeamDTO();
-        teamDTO.setId(team.getId());
-        teamDTO.setName(team.getName());
-        teamDTO.setAcronym(team.getAcronym());
-        teamDTO.setBudget(team.getBudget());
+        TeamDTO teamDTO = convertToTeamFieldsDTO(team);
         teamDTO.setPlayers(team.getPlayers() != null
                 ? team.getPlayers().stream().map(player -> {
             PlayerDTO playerDTO = convertToPlayerDTO(player);
             playerDTO.setTeamId(null);  // Exclude teamId
             playerDTO.setTeamName(null);  // Exclude teamName
+            playerDTO.setTeamVersion(null);
             return playerDTO;
         }).collect(Collectors.toList())
                 : new ArrayList<>());
         return teamDTO;
     }
 
+    // Team fields only, the players are left unloaded
+    public static TeamDTO convertToTeamFieldsDTO(Team team) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setId(team.getId());
+        teamDTO.setName(team.getName());
+        teamDTO.setAcronym(team.getAcronym());
+        teamDTO.setBudget(team.getBudget());
+        teamDTO.setVersion(team.getVersion());
+        return teamDTO;
+    }
+
     public static void updateTeamFromDTO(Team team, TeamDTO teamDTO) {
+        updateTeamFieldsFromDTO(team, teamDTO);
+        // Update players if provided, otherwise retain existing players
+        RosterDiff.between(team.getPlayers(), teamDTO.getPlayers()).applyTo(team);
+    }
+
+    public static void updateTeamFieldsFromDTO(Team team, TeamDTO teamDTO) {
         team.setName(teamDTO.getName());
         team.setAcronym(teamDTO.getAcronym());
         team.setBudget(teamDTO.getBudget());
-        // Update players if provided, otherwise retain existing players
-        if (teamDTO.getPlayers() != null) {
-            team.getPlayers().clear();
-            team.getPlayers().addAll(teamDTO.getPlayers().stream().map(playerDTO -> {
-                Player player = new Player();
-                updatePlayerFromDTO(player, playerDTO, null);
-                player.setTeam(team);  // Set the team
-                return player;
-            }).collect(Collectors.toList()));
-        }
     }
 
     // New methods to handle player lists
@@ -88,8 +101,7 @@ public class DtoConversionUtils {
     }
 
     public static void updatePlayersFromDTO(Team team, List<PlayerDTO> playerDTOs) {
-        team.getPlayers().clear();
-        team.getPlayers().addAll(convertToPlayerList(playerDTOs, team));
+        RosterDiff.between(team.getPlayers(), playerDTOs).applyTo(team);
     }
     public static Player convertToPlayer(PlayerDTO playerDTO, Team team) {
         Player player = new Player();
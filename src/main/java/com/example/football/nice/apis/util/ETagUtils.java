@@ -0,0 +1,98 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.exception.PreconditionFailedException;
+
+/**
+ * Builds strong ETags from the {@code @Version} columns and checks {@code If-Match} preconditions.
+ * A team ETag is its version, which is also bumped whenever its roster changes. A player ETag combines the
+ * player version with the version of its team ({@code "4-7"}), because the player representation embeds the team
+ * name: a team rename changes it. A player {@code If-Match} only checks the player version, so roster changes
+ * elsewhere in its team never fail it.
+ * <p>
+ * The tags stay strong so that {@code If-Match} gets the strong comparison it requires. The price is compression:
+ * Tomcat never gzips a response that carries a strong ETag, so a single team or player goes out uncompressed.
+ * <p>
+ * The tags built here are those of the JSON representation; {@link RepresentationFormat#tag} derives the tags of the
+ * other formats ({@code "4+cbor"}). A precondition is about the state of the row, not its format, so
+ * {@code If-Match} accepts the tag of the current version in any format.
+ */
+public class ETagUtils {
+
+    private static final String ANY = "*";
+
+    public static String forTeam(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String forTeam(TeamDTO teamDTO) {
+        return forTeam(teamDTO.getVersion());
+    }
+
+    public static String forPlayer(Long version, Long teamVersion) {
+        return teamVersion == null ? forTeam(version) : "\"" + version + "-" + teamVersion + "\"";
+    }
+
+    public static String forPlayer(PlayerVersions versions) {
+        return forPlayer(versions.version(), versions.teamVersion());
+    }
+
+    public static String forPlayer(PlayerDTO playerDTO) {
+        return forPlayer(playerDTO.getVersion(), playerDTO.getTeamVersion());
+    }
+
+    /**
+     * Throws if an {@code If-Match} header was sent and none of its entity tags is the current one.
+     * Comparison is strong, as required for {@code If-Match}: weak tags never match.
+     */
+    public static void checkIfMatch(String ifMatch, String currentETag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String eTag = candidate.trim();
+            if (ANY.equals(eTag) || currentETag.equals(withoutFormat(eTag))) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("Resource has been modified, current ETag is " + currentETag);
+    }
+
+    /**
+     * Throws if an {@code If-Match} header was sent and none of its entity tags names the given player version,
+     * whatever team version it carries. Weak tags never match.
+     */
+    public static void checkPlayerIfMatch(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String eTag = candidate.trim();
+            if (ANY.equals(eTag) || version.toString().equals(playerVersion(eTag))) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("Player has been modified, current version is " + version);
+    }
+
+    // "4" of "4-7", "4-7+cbor" or "4", null for a weak or malformed tag
+    private static String playerVersion(String eTag) {
+        String versionTag = withoutFormat(eTag);
+        if (versionTag == null) {
+            return null;
+        }
+        String opaque = versionTag.substring(1, versionTag.length() - 1);
+        int dash = opaque.indexOf('-');
+        return dash < 0 ? opaque : opaque.substring(0, dash);
+    }
+
+    // "4" of "4+cbor" or "4", null for a weak or malformed tag
+    private static String withoutFormat(String eTag) {
+        if (eTag.length() < 2 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            return null;
+        }
+        int format = eTag.indexOf('+');
+        return format < 0 ? eTag : eTag.substring(0, format) + "\"";
+    }
+}
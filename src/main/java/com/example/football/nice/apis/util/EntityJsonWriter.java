@@ -0,0 +1,121 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes teams and players field by field on a {@link JsonGenerator}, straight from the entities or from
+ * {@link PlayerDTO} projections, without building {@link TeamDTO}s and their player lists or going through
+ * Jackson's bean serializers. Field names are encoded once. The output is the one Jackson produces for the DTOs:
+ * same fields, same order, null fields left out, version columns never written.
+ * Works with any Jackson generator, so CBOR and Smile responses take the same path.
+ */
+public final class EntityJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString ACRONYM = new SerializedString("acronym");
+    private static final SerializableString BUDGET = new SerializedString("budget");
+    private static final SerializableString PLAYERS = new SerializedString("players");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString POSITION = new SerializedString("position");
+    private static final SerializableString JERSEY_NUMBER = new SerializedString("jerseyNumber");
+    private static final SerializableString AGE = new SerializedString("age");
+    private static final SerializableString NATIONALITY = new SerializedString("nationality");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString SALARY = new SerializedString("salary");
+    private static final SerializableString TEAM_ID = new SerializedString("teamId");
+    private static final SerializableString TEAM_NAME = new SerializedString("teamName");
+
+    private EntityJsonWriter() {
+    }
+
+    /**
+     * A team and its roster, as {@link DtoConversionUtils#convertToTeamDTO} would render it: the roster players
+     * carry no team fields. The roster must already be loaded.
+     */
+    public static void writeTeam(JsonGenerator generator, Team team) throws IOException {
+        generator.writeStartObject(team);
+        writeField(generator, ID, team.getId());
+        writeField(generator, NAME, team.getName());
+        writeField(generator, ACRONYM, team.getAcronym());
+        writeField(generator, BUDGET, team.getBudget());
+        generator.writeFieldName(PLAYERS);
+        List<Player> players = team.getPlayers();
+        generator.writeStartArray(players, players == null ? 0 : players.size());
+        if (players != null) {
+            for (Player player : players) {
+                generator.writeStartObject(player);
+                writePlayerFields(generator, player.getId(), player.getFirstName(), player.getLastName(),
+                        player.getPosition(), player.getJerseyNumber(), player.getAge(), player.getNationality(),
+                        player.getSize(), player.getSalary());
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * A player read through a projection, with its team id and name when it has a team.
+     */
+    public static void writePlayer(JsonGenerator generator, PlayerDTO player) throws IOException {
+        generator.writeStartObject(player);
+        writePlayerFields(generator, player.getId(), player.getFirstName(), player.getLastName(), player.getPosition(),
+                player.getJerseyNumber(), player.getAge(), player.getNationality(), player.getSize(), player.getSalary());
+        writeField(generator, TEAM_ID, player.getTeamId());
+        writeField(generator, TEAM_NAME, player.getTeamName());
+        generator.writeEndObject();
+    }
+
+    private static void writePlayerFields(JsonGenerator generator, Long id, String firstName, String lastName,
+                                          String position, Integer jerseyNumber, Integer age, String nationality,
+                                          String size, Double salary) throws IOException {
+        writeField(generator, ID, id);
+        writeField(generator, FIRST_NAME, firstName);
+        writeField(generator, LAST_NAME, lastName);
+        writeField(generator, POSITION, position);
+        writeField(generator, JERSEY_NUMBER, jerseyNumber);
+        writeField(generator, AGE, age);
+        writeField(generator, NATIONALITY, nationality);
+        writeField(generator, SIZE, size);
+        writeField(generator, SALARY, salary);
+    }
+
+    private static void writeField(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeField(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeField(JsonGenerator generator, SerializableString name, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeField(JsonGenerator generator, SerializableString name, Double value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value.doubleValue());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.exception.InvalidEntityException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON Merge Patch (RFC 7396): members of the patch replace those of the target, {@code null} removes a member,
+ * nested objects are merged recursively and arrays are replaced as a whole.
+ */
+public class MergePatchUtils {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    public static void checkPatch(JsonNode patch, Set<String> patchableFields) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidEntityException("A merge patch must be a JSON object");
+        }
+        Iterator<String> fields = patch.fieldNames();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            if (!patchableFields.contains(field)) {
+                throw new InvalidEntityException("Field " + field + " cannot be patched, expected one of " + patchableFields);
+            }
+        }
+    }
+
+    /**
+     * Applies the patch to the JSON representation of {@code target} and reads the result back as a new instance.
+     */
+    public static <T> T apply(ObjectMapper objectMapper, T target, JsonNode patch, Class<T> type) {
+        JsonNode merged = merge(objectMapper.valueToTree(target), patch);
+        try {
+            return objectMapper.treeToValue(merged, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidEntityException("Invalid merge patch: " + e.getOriginalMessage());
+        }
+    }
+
+    public static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject() ? (ObjectNode) target : ((ObjectNode) patch).objectNode();
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            if (member.getValue().isNull()) {
+                result.remove(member.getKey());
+            } else {
+                result.set(member.getKey(), merge(result.get(member.getKey()), member.getValue()));
+            }
+        }
+        return result;
+    }
+}
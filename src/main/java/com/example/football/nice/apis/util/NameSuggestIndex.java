@@ -0,0 +1,286 @@
+package com.example.football.nice.apis.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory autocomplete index over names, for suggestions without touching the database.
+ * <p>
+ * Names are normalised (lower case, accents and punctuation removed) and split into words. A query first matches
+ * by prefix. Names that start with the whole query come first, read from sorted maps of full names, one per name
+ * length, shortest first, so the lookup stops as soon as {@code limit} of them are found. Only when there are
+ * fewer are the names whose words start with each query word added, looked up in a sorted map of words. When that
+ * still yields fewer than {@code limit} names, the rest is filled by typo-tolerant matches: names sharing at least
+ * half of the query's trigrams (three-letter windows of each word, padded at both ends), so "mbape" still finds
+ * "Mbappé". Prefix matches always rank above fuzzy ones.
+ * <p>
+ * Thread-safe: lookups share a read lock, updates take the write lock.
+ */
+public class NameSuggestIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double MIN_TRIGRAM_OVERLAP = 0.5;
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingDouble(Suggestion::score).reversed()
+            .thenComparingInt(suggestion -> suggestion.name().length())
+            .thenComparing(Suggestion::name);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<Integer, NavigableMap<String, Set<Long>>> namesByLength = new TreeMap<>();
+    private final NavigableMap<String, Set<Long>> words = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+
+    /**
+     * A name found by {@link #suggest}, with a score from 0 to 1: 1 for a prefix of the whole name, 0.9 for
+     * prefixes of its words, the share of query trigrams found otherwise.
+     */
+    public record Suggestion(Long id, String name, double score) {
+    }
+
+    private record Entry(Long id, String name, String normalized, List<String> words, Set<String> trigrams) {
+    }
+
+    /**
+     * Adds a name, or replaces the name indexed under {@code id}.
+     */
+    public void put(Long id, String name) {
+        String normalized = normalize(name);
+        List<String> nameWords = split(normalized);
+        Entry entry = new Entry(id, name, normalized, nameWords, trigramsOf(nameWords));
+        lock.writeLock().lock();
+        try {
+            unindex(entries.put(id, entry));
+            namesByLength.computeIfAbsent(name.length(), length -> new TreeMap<>())
+                    .computeIfAbsent(normalized, n -> new HashSet<>()).add(id);
+            entry.words().forEach(word -> words.computeIfAbsent(word, w -> new HashSet<>()).add(id));
+            entry.trigrams().forEach(trigram -> trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(entries.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            namesByLength.clear();
+            words.clear();
+            trigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The best {@code limit} names for {@code query}, best first.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        List<String> queryWords = split(normalized);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Suggestion> suggestions = prefixMatches(normalized, queryWords, limit);
+            if (suggestions.size() < limit) {
+                Set<Long> found = new HashSet<>();
+                suggestions.forEach(suggestion -> found.add(suggestion.id()));
+                for (Suggestion suggestion : fuzzyMatches(queryWords, limit)) {
+                    if (suggestions.size() == limit) {
+                        break;
+                    }
+                    if (found.add(suggestion.id())) {
+                        suggestions.add(suggestion);
+                    }
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Suggestion> prefixMatches(String normalized, List<String> queryWords, int limit) {
+        PriorityQueue<Suggestion> top = top(limit);
+        // names starting with the whole query rank by length, so once a length fills the heap longer ones cannot
+        // enter it: a one-letter query reads a few short names instead of every name with a word starting with it
+        for (NavigableMap<String, Set<Long>> names : namesByLength.values()) {
+            for (Set<Long> ids : names.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+                for (Long id : ids) {
+                    offer(top, new Suggestion(id, entries.get(id).name(), 1.0), limit);
+                }
+            }
+            if (top.size() == limit) {
+                return sorted(top);
+            }
+        }
+        // candidates come from the query word with the fewest matching names, the other words are checked per name
+        Iterable<Set<Long>> lead = null;
+        int leadSize = Integer.MAX_VALUE;
+        for (String word : queryWords) {
+            Iterable<Set<Long>> postings = words.subMap(word, true, word + Character.MAX_VALUE, false).values();
+            int size = 0;
+            for (Set<Long> ids : postings) {
+                size += ids.size();
+                if (size >= leadSize) {
+                    break;
+                }
+            }
+            if (size < leadSize) {
+                lead = postings;
+                leadSize = size;
+            }
+        }
+        // every candidate is ranked, only the heap is bounded: the postings come in word order, so cutting them
+        // short could drop the best names; those starting with the whole query are all in the heap already
+        Set<Long> seen = new HashSet<>();
+        for (Set<Long> ids : lead) {
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                if (seen.add(id) && !entry.normalized().startsWith(normalized) && startsWords(entry.words(), queryWords)) {
+                    offer(top, new Suggestion(id, entry.name(), 0.9), limit);
+                }
+            }
+        }
+        return sorted(top);
+    }
+
+    private static boolean startsWords(List<String> nameWords, List<String> queryWords) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String nameWord : nameWords) {
+                if (nameWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Suggestion> fuzzyMatches(List<String> queryWords, int limit) {
+        if (queryWords.stream().mapToInt(String::length).sum() < 3) {
+            return List.of();
+        }
+        List<String> queryTrigrams = new ArrayList<>(trigramsOf(queryWords));
+        int needed = (int) Math.ceil(queryTrigrams.size() * MIN_TRIGRAM_OVERLAP);
+        // a name sharing `needed` trigrams shares at least one of the (size - needed + 1) rarest ones,
+        // so only their postings are read and each candidate is then checked against all trigrams
+        queryTrigrams.sort(Comparator.comparingInt(trigram -> trigrams.getOrDefault(trigram, Set.of()).size()));
+        Set<Long> candidates = new HashSet<>();
+        for (String trigram : queryTrigrams.subList(0, queryTrigrams.size() - needed + 1)) {
+            candidates.addAll(trigrams.getOrDefault(trigram, Set.of()));
+        }
+        PriorityQueue<Suggestion> top = top(limit);
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            int shared = 0;
+            for (String trigram : queryTrigrams) {
+                if (entry.trigrams().contains(trigram)) {
+                    shared++;
+                }
+            }
+            if (shared >= needed) {
+                offer(top, new Suggestion(id, entry.name(), (double) shared / queryTrigrams.size()), limit);
+            }
+        }
+        return sorted(top);
+    }
+
+    // the best `limit` matches are kept in a bounded heap, worst on top, rather than sorting every match
+    private static PriorityQueue<Suggestion> top(int limit) {
+        return new PriorityQueue<>(limit + 1, RANKING.reversed());
+    }
+
+    private static void offer(PriorityQueue<Suggestion> top, Suggestion match, int limit) {
+        top.add(match);
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static List<Suggestion> sorted(PriorityQueue<Suggestion> top) {
+        List<Suggestion> best = new ArrayList<>(top);
+        best.sort(RANKING);
+        return best;
+    }
+
+    private void unindex(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        NavigableMap<String, Set<Long>> names = namesByLength.get(entry.name().length());
+        removeFrom(names, entry.normalized(), entry.id());
+        if (names.isEmpty()) {
+            namesByLength.remove(entry.name().length());
+        }
+        entry.words().forEach(word -> removeFrom(words, word, entry.id()));
+        entry.trigrams().forEach(trigram -> removeFrom(trigrams, trigram, entry.id()));
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> split(String normalized) {
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    private static Set<String> trigramsOf(List<String> words) {
+        Set<String> grams = new HashSet<>();
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.football.nice.apis.util;
+
+/**
+ * The id and display name of a player or team, read to build the suggestion indexes.
+ */
+public record NamedId(Long id, String name) {
+}
@@ -0,0 +1,18 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+
+/**
+ * Identity of a player by name, as used by the duplicate checks.
+ */
+public record PlayerNameKey(String firstName, String lastName) {
+
+    public static PlayerNameKey of(PlayerDTO playerDTO) {
+        return new PlayerNameKey(playerDTO.getFirstName(), playerDTO.getLastName());
+    }
+
+    @Override
+    public String toString() {
+        return firstName + " " + lastName;
+    }
+}
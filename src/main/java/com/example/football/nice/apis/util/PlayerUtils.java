@@ -1,27 +1,77 @@
 package com.example.football.nice.apis.util;
 
 import com.example.football.nice.apis.dto.PlayerDTO;
-import com.example.football.nice.apis.exception.DuplicateEntityException;
+import com.example.football.nice.apis.entity.Player;
 import com.example.football.nice.apis.exception.InvalidEntityException;
-import com.example.football.nice.apis.repository.PlayerRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
 public class PlayerUtils {
 
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char NULL_MARKER = '\u0000';
+
     public static void checkForDuplicateNewPlayers(List<PlayerDTO> playerDTOs) {
-        Set<String> playerNames = new HashSet<>();
+        Set<PlayerNameKey> playerNames = new HashSet<>(Math.max(16, playerDTOs.size() * 2));
         for (PlayerDTO playerDTO : playerDTOs) {
-            String playerIdentifier = playerDTO.getFirstName() + " " + playerDTO.getLastName();
+            PlayerNameKey playerIdentifier = PlayerNameKey.of(playerDTO);
             if (!playerNames.add(playerIdentifier)) {
                 throw new InvalidEntityException("Duplicate player detected: " + playerIdentifier);
             }
         }
     }
 
+    /**
+     * Indexes players by content fingerprint, keeping the first player of each fingerprint.
+     */
+    public static Map<String, PlayerDTO> indexByFingerprint(List<PlayerDTO> playerDTOs) {
+        Map<String, PlayerDTO> players = new HashMap<>(Math.max(16, playerDTOs.size() * 2));
+        for (PlayerDTO playerDTO : playerDTOs) {
+            players.putIfAbsent(fingerprint(playerDTO), playerDTO);
+        }
+        return players;
+    }
+
+    public static String fingerprint(PlayerDTO playerDTO) {
+        return fingerprint(playerDTO.getFirstName(), playerDTO.getLastName(), playerDTO.getPosition(), playerDTO.getJerseyNumber(),
+                playerDTO.getAge(), playerDTO.getNationality(), playerDTO.getSize(), playerDTO.getSalary());
+    }
+
+    public static String fingerprint(Player player) {
+        return fingerprint(player.getFirstName(), player.getLastName(), player.getPosition(), player.getJerseyNumber(),
+                player.getAge(), player.getNationality(), player.getSize(), player.getSalary());
+    }
+
+    /**
+     * Hex SHA-256 of the eight columns that identify a player's content. It is stored in {@code player.fingerprint}
+     * under a unique index, so duplicates are found with a single {@code IN} lookup instead of an 8-column match per player.
+     */
+    public static String fingerprint(String firstName, String lastName, String position, Integer jerseyNumber,
+                                     Integer age, String nationality, String size, Double salary) {
+        StringBuilder content = new StringBuilder(96);
+        for (Object field : new Object[]{firstName, lastName, position, jerseyNumber, age, nationality, size, salary}) {
+            if (field == null) {
+                content.append(NULL_MARKER);
+            } else {
+                content.append(field);
+            }
+            content.append(FIELD_SEPARATOR);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
 }
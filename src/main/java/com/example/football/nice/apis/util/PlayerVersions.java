@@ -0,0 +1,7 @@
+package com.example.football.nice.apis.util;
+
+/**
+ * Versions of a player row and of its team row, read together to answer conditional requests.
+ */
+public record PlayerVersions(Long version, Long teamVersion) {
+}
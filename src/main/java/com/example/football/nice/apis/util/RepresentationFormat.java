@@ -0,0 +1,60 @@
+package com.example.football.nice.apis.util;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The body formats negotiated with {@code Accept} (see {@code BinaryFormatsConfig}), in the order Spring MVC prefers
+ * them when several are acceptable. Each format has its own ETags, so that a cache holding one format never
+ * revalidates it with the tag of another.
+ */
+public enum RepresentationFormat {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"), "smile");
+
+    private final MediaType mediaType;
+    private final String tagSuffix;
+
+    RepresentationFormat(MediaType mediaType, String tagSuffix) {
+        this.mediaType = mediaType;
+        this.tagSuffix = tagSuffix;
+    }
+
+    /**
+     * The format the response will be written in for this {@code Accept} header: the first one matching the most
+     * specific accepted type, JSON if the header is absent or cannot be parsed.
+     */
+    public static RepresentationFormat of(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType acceptedType : accepted) {
+            for (RepresentationFormat format : values()) {
+                if (acceptedType.getQualityValue() > 0 && acceptedType.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The tag of this format for a version tag: {@code "3"} stays as is in JSON and becomes {@code "3+cbor"} in CBOR.
+     */
+    public String tag(String eTag) {
+        return tagSuffix == null ? eTag : eTag.substring(0, eTag.length() - 1) + "+" + tagSuffix + "\"";
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Incremental update of a team roster from the players of a {@code TeamDTO}.
+ * Incoming players are matched to the current roster by id, then by first and last name. Only the differences
+ * are written: an unchanged player costs nothing, a changed one is an UPDATE of its own row, and only unmatched
+ * entries become INSERTs or DELETEs (through orphan removal). Player ids therefore survive a roster update.
+ */
+public class RosterDiff {
+
+    private final List<Player> removed = new ArrayList<>();
+    private final List<Match> changed = new ArrayList<>();
+    private final List<PlayerDTO> added = new ArrayList<>();
+
+    private record Match(Player player, PlayerDTO playerDTO) {
+    }
+
+    /**
+     * Computes the changes that turn {@code roster} into {@code playerDTOs}.
+     * A {@code null} list means the roster is left untouched.
+     */
+    public static RosterDiff between(List<Player> roster, List<PlayerDTO> playerDTOs) {
+        RosterDiff diff = new RosterDiff();
+        if (playerDTOs == null) {
+            return diff;
+        }
+        Map<Long, Player> playersById = new HashMap<>(Math.max(16, roster.size() * 2));
+        Map<PlayerNameKey, Player> playersByName = new HashMap<>(Math.max(16, roster.size() * 2));
+        for (Player player : roster) {
+            if (player.getId() != null) {
+                playersById.put(player.getId(), player);
+            }
+            playersByName.put(new PlayerNameKey(player.getFirstName(), player.getLastName()), player);
+        }
+        Set<Player> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PlayerDTO playerDTO : playerDTOs) {
+            Player player = playerDTO.getId() != null ? playersById.get(playerDTO.getId()) : null;
+            if (player == null) {
+                player = playersByName.get(PlayerNameKey.of(playerDTO));
+            }
+            if (player == null || !matched.add(player)) {
+                diff.added.add(playerDTO);
+            } else if (!sameContent(player, playerDTO)) {
+                diff.changed.add(new Match(player, playerDTO));
+            }
+        }
+        for (Player player : roster) {
+            if (!matched.contains(player)) {
+                diff.removed.add(player);
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Detaches the players that are no longer in the roster; orphan removal turns them into DELETEs.
+     *
+     * @return the number of removed players.
+     */
+    public int applyRemovals(Team team) {
+        if (!removed.isEmpty()) {
+            Set<Player> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+            stale.addAll(removed);
+            team.getPlayers().removeIf(stale::contains);
+        }
+        return removed.size();
+    }
+
+    /**
+     * Copies the new values into the changed players and appends the new ones to the roster.
+     */
+    public void applyChanges(Team team) {
+        for (Match match : changed) {
+            DtoConversionUtils.updatePlayerFromDTO(match.player(), match.playerDTO());
+        }
+        for (PlayerDTO playerDTO : added) {
+            team.getPlayers().add(DtoConversionUtils.convertToPlayer(playerDTO, team));
+        }
+    }
+
+    /**
+     * Applies the changes to the totals of the roster. Must run before {@link #applyChanges(Team)}, which overwrites
+     * the changed players. Every player leaves before any joins, so two players can swap their jersey numbers.
+     */
+    public void applyTo(RosterTotals totals) {
+        removed.forEach(player -> totals.remove(RosterEntry.of(player)));
+        changed.forEach(match -> totals.remove(RosterEntry.of(match.player())));
+        changed.forEach(match -> totals.add(RosterEntry.of(match.playerDTO())));
+        added.forEach(playerDTO -> totals.add(RosterEntry.of(playerDTO)));
+    }
+
+    public void applyTo(Team team) {
+        applyRemovals(team);
+        applyChanges(team);
+    }
+
+    public int removed() {
+        return removed.size();
+    }
+
+    public int changed() {
+        return changed.size();
+    }
+
+    public int added() {
+        return added.size();
+    }
+
+    public boolean isEmpty() {
+        return removed.isEmpty() && changed.isEmpty() && added.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + added.size() + " ~" + changed.size() + " -" + removed.size();
+    }
+
+    private static boolean sameContent(Player player, PlayerDTO playerDTO) {
+        return Objects.equals(player.getFirstName(), playerDTO.getFirstName())
+                && Objects.equals(player.getLastName(), playerDTO.getLastName())
+                && Objects.equals(player.getPosition(), playerDTO.getPosition())
+                && Objects.equals(player.getJerseyNumber(), playerDTO.getJerseyNumber())
+                && Objects.equals(player.getAge(), playerDTO.getAge())
+                && Objects.equals(player.getNationality(), playerDTO.getNationality())
+                && Objects.equals(player.getSize(), playerDTO.getSize())
+                && Objects.equals(player.getSalary(), playerDTO.getSalary());
+    }
+}
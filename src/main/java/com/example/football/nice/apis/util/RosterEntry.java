@@ -0,0 +1,18 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.entity.Player;
+
+/**
+ * What a player weighs in the roster totals of its team: its jersey number and its salary.
+ */
+public record RosterEntry(Integer jerseyNumber, Double salary) {
+
+    public static RosterEntry of(Player player) {
+        return new RosterEntry(player.getJerseyNumber(), player.getSalary());
+    }
+
+    public static RosterEntry of(PlayerDTO playerDTO) {
+        return new RosterEntry(playerDTO.getJerseyNumber(), playerDTO.getSalary());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.football.nice.apis.util;
+
+import java.util.Collection;
+
+/**
+ * Running totals of a team roster: head count, payroll in cents, so that additions and removals never drift,
+ * and the jersey numbers taken, as a count of players per number: a roster that predates the rules may have two
+ * players with the same number, which stays taken until both are gone. Adding or removing a player is constant
+ * time, so roster rules are checked against the totals instead of the players.
+ */
+public class RosterTotals {
+
+    public static final int MIN_JERSEY_NUMBER = 1;
+    public static final int MAX_JERSEY_NUMBER = 99;
+
+    private int playerCount;
+    private long payrollCents;
+    private final byte[] jerseyNumberCounts;
+    private Integer duplicateJerseyNumber;
+    private Integer invalidJerseyNumber;
+
+    public RosterTotals(int playerCount, long payrollCents, byte[] jerseyNumberCounts) {
+        this.playerCount = playerCount;
+        this.payrollCents = payrollCents;
+        this.jerseyNumberCounts = new byte[MAX_JERSEY_NUMBER + 1];
+        if (jerseyNumberCounts != null) {
+            System.arraycopy(jerseyNumberCounts, 0, this.jerseyNumberCounts, 0,
+                    Math.min(jerseyNumberCounts.length, this.jerseyNumberCounts.length));
+        }
+    }
+
+    public static RosterTotals empty() {
+        return new RosterTotals(0, 0, null);
+    }
+
+    public static RosterTotals of(Collection<RosterEntry> entries) {
+        RosterTotals totals = empty();
+        entries.forEach(totals::add);
+        return totals;
+    }
+
+    /**
+     * Adds a player. A jersey number already taken, or out of range, is remembered as
+     * {@link #getDuplicateJerseyNumber()} or {@link #getInvalidJerseyNumber()}.
+     */
+    public void add(RosterEntry entry) {
+        playerCount++;
+        payrollCents += cents(entry.salary());
+        Integer jerseyNumber = entry.jerseyNumber();
+        if (isValidJerseyNumber(jerseyNumber)) {
+            if (jerseyNumberCounts[jerseyNumber] > 0 && duplicateJerseyNumber == null) {
+                duplicateJerseyNumber = jerseyNumber;
+            }
+            if (jerseyNumberCounts[jerseyNumber] < Byte.MAX_VALUE) {
+                jerseyNumberCounts[jerseyNumber]++;
+            }
+        } else if (jerseyNumber != null && invalidJerseyNumber == null) {
+            invalidJerseyNumber = jerseyNumber;
+        }
+    }
+
+    public void remove(RosterEntry entry) {
+        playerCount--;
+        payrollCents -= cents(entry.salary());
+        if (isValidJerseyNumber(entry.jerseyNumber()) && jerseyNumberCounts[entry.jerseyNumber()] > 0) {
+            jerseyNumberCounts[entry.jerseyNumber()]--;
+        }
+    }
+
+    /**
+     * Forgets the jersey number problems seen so far, for totals built from a roster that predates the rules.
+     */
+    public void forgetJerseyNumberProblems() {
+        duplicateJerseyNumber = null;
+        invalidJerseyNumber = null;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public long getPayrollCents() {
+        return payrollCents;
+    }
+
+    public Integer getDuplicateJerseyNumber() {
+        return duplicateJerseyNumber;
+    }
+
+    public Integer getInvalidJerseyNumber() {
+        return invalidJerseyNumber;
+    }
+
+    public byte[] toJerseyNumberCounts() {
+        return jerseyNumberCounts.clone();
+    }
+
+    public static boolean isValidJerseyNumber(Integer jerseyNumber) {
+        return jerseyNumber != null && jerseyNumber >= MIN_JERSEY_NUMBER && jerseyNumber <= MAX_JERSEY_NUMBER;
+    }
+
+    public static long cents(Double amount) {
+        return amount != null ? Math.round(amount * 100) : 0;
+    }
+}
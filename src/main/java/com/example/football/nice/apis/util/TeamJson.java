@@ -0,0 +1,28 @@
+package com.example.football.nice.apis.util;
+
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Team;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * A team returned to a controller as the loaded entity, serialized by {@link EntityJsonWriter} into the same
+ * representation as a {@link TeamDTO}. The roster must be loaded before the surrounding transaction ends.
+ */
+public record TeamJson(Team team) implements JsonSerializable {
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        EntityJsonWriter.writeTeam(generator, team);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+}
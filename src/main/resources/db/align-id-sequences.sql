@@ -0,0 +1,5 @@
+-- Databases created before ids were allocated in blocks have their id sequences at INCREMENT BY 1,
+-- which Hibernate rejects for allocationSize = 50. Runs before Hibernate on every startup; a no-op
+-- on a fresh database, where Hibernate creates the sequences itself.
+ALTER SEQUENCE IF EXISTS team_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS player_id_seq INCREMENT BY 50;
@@ -0,0 +1,191 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.ChangeDTO;
+import com.example.football.nice.apis.dto.ChangesPageDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.ChangeLogEntry;
+import com.example.football.nice.apis.entity.ChangeLogEntry.EntityType;
+import com.example.football.nice.apis.entity.ChangeLogEntry.Operation;
+import com.example.football.nice.apis.entity.ChangeSequence;
+import com.example.football.nice.apis.repository.ChangeLogRepository;
+import com.example.football.nice.apis.repository.ChangeSequenceRepository;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.service.ChangeLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "football.changes.retention=0s")
+@ActiveProfiles("test")
+public class ChangesIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void testChangesSinceReturnOnlyWhatChanged() {
+        createTeam("Lyon", 0);
+        long head = lastSeq();
+        TeamDTO nice = createTeam("Nice", 2);
+        PlayerDTO kept = nice.getPlayers().get(0);
+        PlayerDTO removed = nice.getPlayers().get(1);
+        kept.setTeamId(nice.getId());
+        kept.setAge(30);
+        restTemplate.withBasicAuth("admin", "admin123").exchange("/api/players/" + kept.getId(), HttpMethod.PUT,
+                new HttpEntity<>(kept), PlayerDTO.class);
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/players/" + removed.getId());
+        TeamDTO brest = createTeam("Brest", 0);
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/teams/" + brest.getId());
+
+        ChangesPageDTO page = changes(head, 500);
+        assertThat(page.getChanges()).extracting(ChangeDTO::getEntityType, ChangeDTO::getId, ChangeDTO::getOperation)
+                .containsExactly(
+                        tuple(EntityType.TEAM, nice.getId(), Operation.UPSERT),
+                        tuple(EntityType.PLAYER, kept.getId(), Operation.UPSERT),
+                        tuple(EntityType.PLAYER, removed.getId(), Operation.DELETE),
+                        tuple(EntityType.TEAM, brest.getId(), Operation.DELETE));
+        assertThat(page.getChanges().get(0).getTeam().getName()).isEqualTo("Nice");
+        assertThat(page.getChanges().get(0).getTeam().getPlayers()).isNull();
+        assertThat(page.getChanges().get(1).getPlayer().getAge()).isEqualTo(30);
+        assertThat(page.getChanges().get(1).getPlayer().getTeamId()).isEqualTo(nice.getId());
+        assertThat(page.getChanges().get(2).getPlayer()).isNull();
+        assertThat(page.getNext()).isEqualTo(lastSeq());
+        assertThat(page.isHasMore()).isFalse();
+
+        ChangesPageDTO upToDate = changes(page.getNext(), 500);
+        assertThat(upToDate.getChanges()).isEmpty();
+        assertThat(upToDate.getNext()).isEqualTo(page.getNext());
+    }
+
+    @Test
+    void testChangesArePagedAndFullSyncHasNoTombstones() {
+        long head = lastSeq();
+        TeamDTO nice = createTeam("Nice", 3);
+
+        ChangesPageDTO first = changes(head, 3);
+        assertThat(first.getChanges()).hasSize(3);
+        assertThat(first.isHasMore()).isTrue();
+        ChangesPageDTO second = changes(first.getNext(), 3);
+        assertThat(second.getChanges()).hasSize(1);
+        assertThat(second.isHasMore()).isFalse();
+
+        List<ChangeDTO> all = syncFromScratch();
+        assertThat(all).extracting(ChangeDTO::getOperation).containsOnly(Operation.UPSERT);
+        assertThat(all).extracting(ChangeDTO::getId).containsExactlyInAnyOrder(nice.getId(),
+                nice.getPlayers().get(0).getId(), nice.getPlayers().get(1).getId(), nice.getPlayers().get(2).getId());
+
+        ResponseEntity<String> invalid = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/changes?since=0&limit=0", String.class);
+        assertThat(invalid.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    void testCompactionKeepsLatestEntriesAndExpiresTombstones() {
+        TeamDTO nice = createTeam("Nice", 2);
+        long head = lastSeq();
+        PlayerDTO kept = nice.getPlayers().get(0);
+        kept.setTeamId(nice.getId());
+        for (int age : new int[]{30, 31}) {
+            kept.setAge(age);
+            restTemplate.withBasicAuth("admin", "admin123").exchange("/api/players/" + kept.getId(), HttpMethod.PUT,
+                    new HttpEntity<>(kept), PlayerDTO.class);
+        }
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/players/" + nice.getPlayers().get(1).getId());
+
+        changeLogService.compact();
+
+        // one entry per live entity, and no tombstone left with a zero retention
+        List<ChangeLogEntry> entries = changeLogRepository.findAll();
+        assertThat(entries).filteredOn(entry -> entry.getEntityType() == EntityType.PLAYER && entry.getEntityId().equals(kept.getId()))
+                .hasSize(1);
+        assertThat(entries).extracting(ChangeLogEntry::getOperation).doesNotContain(Operation.DELETE);
+
+        ResponseEntity<String> expired = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/changes?since=" + head, String.class);
+        assertThat(expired.getStatusCodeValue()).isEqualTo(410);
+
+        List<ChangeDTO> all = syncFromScratch();
+        assertThat(all).extracting(ChangeDTO::getId).containsExactlyInAnyOrder(nice.getId(), kept.getId());
+        assertThat(all).filteredOn(change -> change.getPlayer() != null).singleElement()
+                .satisfies(change -> assertThat(change.getPlayer().getAge()).isEqualTo(31));
+    }
+
+    private long lastSeq() {
+        return sequenceRepository.findById(ChangeSequence.ID).map(ChangeSequence::getLastSeq).orElse(0L);
+    }
+
+    private ChangesPageDTO changes(long since, int limit) {
+        ResponseEntity<ChangesPageDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/changes?since=" + since + "&limit=" + limit, ChangesPageDTO.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response.getBody();
+    }
+
+    private List<ChangeDTO> syncFromScratch() {
+        List<ChangeDTO> all = new ArrayList<>();
+        ChangesPageDTO page;
+        long since = 0;
+        do {
+            page = changes(since, 1000);
+            all.addAll(page.getChanges());
+            since = page.getNext();
+        } while (page.isHasMore());
+        return all;
+    }
+
+    private TeamDTO createTeam(String name, int players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(name.substring(0, 3).toUpperCase());
+        teamDTO.setBudget(50_000_000.0);
+        List<PlayerDTO> roster = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setFirstName(name);
+            player.setLastName("Player " + i);
+            player.setPosition("Midfielder");
+            player.setJerseyNumber(i + 1);
+            player.setAge(25);
+            player.setSalary(1_000_000.0);
+            roster.add(player);
+        }
+        teamDTO.setPlayers(roster);
+        return restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams", teamDTO, TeamDTO.class).getBody();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ContentNegotiationIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void testTeamsAndPlayersNegotiateCborAndSmile() throws IOException {
+        // request and response bodies in CBOR
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_CBOR);
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        ResponseEntity<byte[]> created = restTemplate.withBasicAuth("admin", "admin123").exchange("/api/teams",
+                HttpMethod.POST, new HttpEntity<>(cborMapper.writeValueAsBytes(teamDTO("Nice", 11)), headers), byte[].class);
+        assertThat(created.getStatusCodeValue()).isEqualTo(200);
+        assertThat(created.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        TeamDTO team = cborMapper.readValue(created.getBody(), TeamDTO.class);
+        assertThat(team.getPlayers()).hasSize(11);
+
+        ResponseEntity<byte[]> json = get("/api/teams/" + team.getId(), MediaType.APPLICATION_JSON);
+        ResponseEntity<byte[]> smile = get("/api/teams/" + team.getId(), SMILE);
+        assertThat(smile.getHeaders().getContentType()).isEqualTo(SMILE);
+        // one tag per format, and caches keep one response per Accept
+        assertThat(smile.getHeaders().getETag()).isNotEqualTo(json.getHeaders().getETag());
+        assertThat(smile.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        assertThat(json.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        assertThat(smileMapper.readValue(smile.getBody(), TeamDTO.class)).usingRecursiveComparison()
+                .isEqualTo(jsonMapper.readValue(json.getBody(), TeamDTO.class));
+        assertThat(smile.getBody().length).isLessThan(json.getBody().length);
+
+        Long playerId = team.getPlayers().get(0).getId();
+        ResponseEntity<byte[]> player = get("/api/players/" + playerId, MediaType.APPLICATION_CBOR);
+        assertThat(player.getStatusCodeValue()).isEqualTo(200);
+        assertThat(cborMapper.readValue(player.getBody(), PlayerDTO.class).getLastName()).isEqualTo("Player 0");
+
+        // JSON stays the default
+        ResponseEntity<byte[]> any = get("/api/players/" + playerId, MediaType.ALL);
+        assertThat(any.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void testLargeResponsesAreCompressed() throws Exception {
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams", teamDTO("Lyon", 25), TeamDTO.class);
+        HttpClient http = HttpClient.newHttpClient();
+
+        HttpResponse<byte[]> list = http.send(gzipRequest("/api/teams?size=5"), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(list.statusCode()).isEqualTo(200);
+        assertThat(list.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(list.body()))) {
+            byte[] json = body.readAllBytes();
+            assertThat(json.length).isGreaterThan(list.body().length);
+            assertThat(jsonMapper.readValue(json, TeamDTO[].class)[0].getPlayers()).hasSize(25);
+        }
+
+        // under the threshold, the body is sent as is
+        HttpResponse<byte[]> small = http.send(gzipRequest("/api/teams?size=5&page=1"), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(new String(small.body(), StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    @Test
+    void testConditionalRequestsAreTiedToTheFormat() throws IOException {
+        TeamDTO team = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO("Nice", 11), TeamDTO.class).getBody();
+        String url = "/api/teams/" + team.getId();
+        String smileTag = get(url, SMILE).getHeaders().getETag();
+        // the most specific accepted type wins, then the highest quality
+        ResponseEntity<byte[]> cbor = get(url, MediaType.valueOf("application/json;q=0.5"), MediaType.APPLICATION_CBOR);
+        assertThat(cbor.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        String cborTag = cbor.getHeaders().getETag();
+        assertThat(cborTag).endsWith("+cbor\"");
+
+        // a Smile tag never revalidates a JSON response
+        ResponseEntity<byte[]> json = conditionalGet(url, MediaType.APPLICATION_JSON, smileTag);
+        assertThat(json.getStatusCodeValue()).isEqualTo(200);
+        assertThat(json.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        ResponseEntity<byte[]> notModified = conditionalGet(url, SMILE, smileTag);
+        assertThat(notModified.getStatusCodeValue()).isEqualTo(304);
+        assertThat(notModified.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+
+        // If-Match is about the version, whatever the format it was read in
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(cborTag);
+        team.setBudget(60_000_000.0);
+        ResponseEntity<TeamDTO> updated = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(team, headers), TeamDTO.class);
+        assertThat(updated.getStatusCodeValue()).isEqualTo(200);
+        assertThat(updated.getHeaders().getETag()).isNotEqualTo(json.getHeaders().getETag());
+        ResponseEntity<String> stale = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(team, headers), String.class);
+        assertThat(stale.getStatusCodeValue()).isEqualTo(412);
+    }
+
+    @Test
+    void testSingleTeamWithItsStrongETagIsNotCompressed() throws Exception {
+        TeamDTO created = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO("Lens", 25), TeamDTO.class).getBody();
+
+        HttpResponse<byte[]> team = HttpClient.newHttpClient()
+                .send(gzipRequest("/api/teams/" + created.getId()), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(team.statusCode()).isEqualTo(200);
+        // strong, as If-Match requires, which keeps Tomcat from compressing the body
+        assertThat(team.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("\""));
+        assertThat(team.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(jsonMapper.readValue(team.body(), TeamDTO.class).getPlayers()).hasSize(25);
+    }
+
+    private ResponseEntity<byte[]> get(String url, MediaType... accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        return restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private ResponseEntity<byte[]> conditionalGet(String url, MediaType accept, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        headers.setIfNoneMatch(eTag);
+        return restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private HttpRequest gzipRequest(String url) {
+        String credentials = Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + url))
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + credentials)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+    }
+
+    private static TeamDTO teamDTO(String name, int players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(name.substring(0, 3).toUpperCase());
+        teamDTO.setBudget(50_000_000.0);
+        List<PlayerDTO> roster = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            PlayerDTO player = new PlayerDTO();
+            player.setFirstName(name);
+            player.setLastName("Player " + i);
+            player.setPosition(i == 0 ? "Goalkeeper" : "Midfielder");
+            player.setNationality("French");
+            player.setJerseyNumber(i + 1);
+            player.setAge(20 + i % 15);
+            player.setSalary(500_000.0);
+            roster.add(player);
+        }
+        teamDTO.setPlayers(roster);
+        return teamDTO;
+    }
+}
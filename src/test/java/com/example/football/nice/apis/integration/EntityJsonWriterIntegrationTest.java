@@ -0,0 +1,147 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.CursorPageDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The team pages and the NDJSON export are written by EntityJsonWriter; their bodies must stay byte for byte
+ * what Jackson writes for the DTOs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class EntityJsonWriterIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        List<PlayerDTO> nice = new ArrayList<>();
+        nice.add(player("Khéphren", "Thuram", "Midfielder", 19, 22, 2_500_000.0));
+        nice.add(player("Jean-Clair", "Todibo", "Defender", 6, 23, 0.1));
+        // null fields are left out, special characters escaped
+        nice.add(player("Marcin \"Bulka\"", "Bu\\lka\t", "Goalkeeper", null, null, null));
+        nice.add(player("Youcef", "Atal 🇩🇿", "Defender", 20, 27, 1.5E7));
+        createTeam("OGC Nice", "OGCN", 1.2345678912E8, nice);
+        createTeam("Olympique Lyonnais", "OL", 40_000_000.0, List.of());
+        createTeam("Stade Rennais", "SRFC", 40_000_000.5, List.of(player("Steve", "Mandanda", "Goalkeeper", 30, 39, 800_000.0)));
+        // a free agent, with no team fields
+        restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", player("Free", "Agent", "Forward", 9, 30, 1_000.0), PlayerDTO.class);
+    }
+
+    @Test
+    void testTeamPagesMatchJacksonDtoOutput() throws Exception {
+        for (String sortBy : List.of("name", "budget")) {
+            ResponseEntity<String> page = get("/api/teams?size=2&page=0&sortBy=" + sortBy, MediaType.APPLICATION_JSON);
+            assertThat(page.getBody()).isEqualTo(json(expectedPage(0, 2, sortBy)));
+            page = get("/api/teams?size=2&page=1&sortBy=" + sortBy, MediaType.APPLICATION_JSON);
+            assertThat(page.getBody()).isEqualTo(json(expectedPage(1, 2, sortBy)));
+        }
+
+        ResponseEntity<String> scroll = get("/api/teams/scroll?size=10&sortBy=id", MediaType.APPLICATION_JSON);
+        CursorPageDTO<TeamDTO> expected = new CursorPageDTO<>();
+        expected.setItems(expectedPage(0, 10, "id"));
+        assertThat(scroll.getBody()).isEqualTo(json(expected));
+    }
+
+    @Test
+    void testNdjsonExportMatchesJacksonDtoOutput() throws Exception {
+        ResponseEntity<String> export = get("/api/players", MediaType.APPLICATION_NDJSON);
+        StringBuilder expected = new StringBuilder();
+        for (PlayerDTO player : playerRepository.findAllAsDto()) {
+            expected.append(json(player)).append('\n');
+        }
+        assertThat(export.getBody()).isEqualTo(expected.toString());
+        assertThat(export.getBody()).contains("\"teamName\":\"OGC Nice\"");
+    }
+
+    // as the message converters write it: UTF-8 bytes, which escape surrogate pairs unlike writeValueAsString
+    private String json(Object value) throws Exception {
+        return new String(objectMapper.writeValueAsBytes(value), StandardCharsets.UTF_8);
+    }
+
+    // the teams of a page as the service converted them before, rosters loaded the same way
+    private List<TeamDTO> expectedPage(int page, int size, String sortBy) {
+        return transactionTemplate.execute(status -> {
+            List<Team> teams = teamRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy))).getContent();
+            teamRepository.findWithPlayersByIdIn(teams.stream().map(Team::getId).collect(Collectors.toList()));
+            return teams.stream().map(DtoConversionUtils::convertToTeamDTO).collect(Collectors.toList());
+        });
+    }
+
+    private ResponseEntity<String> get(String url, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response;
+    }
+
+    private void createTeam(String name, String acronym, double budget, List<PlayerDTO> players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(acronym);
+        teamDTO.setBudget(budget);
+        teamDTO.setPlayers(new ArrayList<>(players));
+        ResponseEntity<TeamDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+    }
+
+    private static PlayerDTO player(String firstName, String lastName, String position, Integer jerseyNumber,
+                                    Integer age, Double salary) {
+        PlayerDTO player = new PlayerDTO();
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setPosition(position);
+        player.setJerseyNumber(jerseyNumber);
+        player.setAge(age);
+        player.setNationality(age == null ? null : "French");
+        player.setSize(age == null ? null : "1.85m");
+        player.setSalary(salary);
+        return player;
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.RosterEventDTO;
+import com.example.football.nice.apis.dto.RosterEventType;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.service.RosterEventBroadcaster;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class EventsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private RosterEventBroadcaster broadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final List<EventStream> streams = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(EventStream::close);
+    }
+
+    @Test
+    void testRosterChangesAreStreamedPerTeam() throws Exception {
+        TeamDTO nice = createTeam("Nice");
+        TeamDTO lyon = createTeam("Lyon");
+        EventStream all = subscribe("");
+        EventStream niceOnly = subscribe("?teamId=" + nice.getId());
+        EventStream lyonOnly = subscribe("?teamId=" + lyon.getId());
+        assertThat(all.contentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        PlayerDTO player = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", playerDTO(lyon.getId()), PlayerDTO.class).getBody();
+        player.setTeamId(nice.getId());
+        restTemplate.withBasicAuth("admin", "admin123").exchange("/api/players/" + player.getId(), HttpMethod.PUT,
+                new HttpEntity<>(player), PlayerDTO.class);
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/players/" + player.getId());
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/teams/" + lyon.getId());
+
+        RosterEventDTO created = all.next(RosterEventType.PLAYER_CREATED);
+        assertThat(created.getPlayerId()).isEqualTo(player.getId());
+        assertThat(created.getTeamId()).isEqualTo(lyon.getId());
+        RosterEventDTO transferred = all.next(RosterEventType.PLAYER_TRANSFERRED);
+        assertThat(transferred.getPreviousTeamId()).isEqualTo(lyon.getId());
+        assertThat(transferred.getTeamId()).isEqualTo(nice.getId());
+        assertThat(all.next(RosterEventType.PLAYER_DELETED).getTeamId()).isEqualTo(nice.getId());
+        assertThat(all.next(RosterEventType.TEAM_DELETED).getTeamId()).isEqualTo(lyon.getId());
+
+        // each team stream only sees its own events, and both see the transfer
+        assertThat(niceOnly.next(RosterEventType.PLAYER_TRANSFERRED).getPlayerId()).isEqualTo(player.getId());
+        assertThat(niceOnly.next(RosterEventType.PLAYER_DELETED).getPlayerId()).isEqualTo(player.getId());
+        lyonOnly.next(RosterEventType.PLAYER_CREATED);
+        lyonOnly.next(RosterEventType.PLAYER_TRANSFERRED);
+        lyonOnly.next(RosterEventType.TEAM_DELETED);
+    }
+
+    @Test
+    void testRejectedWritesPublishNothing() throws Exception {
+        TeamDTO nice = createTeam("Nice");
+        EventStream all = subscribe("");
+
+        ResponseEntity<String> duplicate = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO("Nice"), String.class);
+        assertThat(duplicate.getStatusCodeValue()).isEqualTo(409);
+        PlayerDTO tooExpensive = playerDTO(nice.getId());
+        tooExpensive.setSalary(1_000_000_000.0);
+        ResponseEntity<String> rejected = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", tooExpensive, String.class);
+        assertThat(rejected.getStatusCode().is4xxClientError()).isTrue();
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/teams/" + nice.getId());
+
+        // the first event is the one of the write that went through
+        assertThat(all.next(RosterEventType.TEAM_DELETED).getTeamId()).isEqualTo(nice.getId());
+    }
+
+    @Test
+    void testSlowSubscriberIsDisconnected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                completed.countDown();
+                super.complete();
+            }
+        };
+        int subscribers = broadcaster.getSubscriberCount();
+        double dropped = meterRegistry.counter("football.events.dropped").count();
+        broadcaster.subscribe(stalled, List.of());
+        try {
+            // the queue holds 256 frames in the test profile, one of them taken by the sender
+            for (int i = 0; i < 300 && completed.getCount() > 0; i++) {
+                broadcaster.publish(new RosterEventDTO(RosterEventType.TEAM_UPDATED, null, (long) i, null, Instant.now()));
+            }
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            // streams closed by earlier tests may have been dropped too, on their first failed write
+            assertThat(broadcaster.getSubscriberCount()).isLessThanOrEqualTo(subscribers);
+            assertThat(meterRegistry.counter("football.events.dropped").count()).isEqualTo(dropped + 1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testBulkImportsDoNotOverflowSubscribers() throws Exception {
+        List<TeamDTO> teams = IntStream.range(0, 10).mapToObj(i -> createTeam("Club " + i)).toList();
+        EventStream all = subscribe("");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                completed.countDown();
+                super.complete();
+            }
+        };
+        double dropped = meterRegistry.counter("football.events.dropped").count();
+        broadcaster.subscribe(stalled, List.of());
+        try {
+            // more rows than the 256 places of a subscriber queue, in a single chunk each
+            List<PlayerDTO> players = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                PlayerDTO player = playerDTO(teams.get(i % 10).getId());
+                player.setLastName("Import " + i);
+                player.setJerseyNumber(i / 10 + 1);
+                player.setSalary(100_000.0);
+                players.add(player);
+            }
+            for (int i = 0; i < 50; i++) {
+                PlayerDTO freeAgent = playerDTO(null);
+                freeAgent.setLastName("Free " + i);
+                players.add(freeAgent);
+            }
+            ResponseEntity<BulkImportResultDTO> playerImport = restTemplate.withBasicAuth("admin", "admin123")
+                    .postForEntity("/api/players/bulk", players, BulkImportResultDTO.class);
+            assertThat(playerImport.getBody().getCreated()).isEqualTo(350);
+            List<TeamDTO> newTeams = IntStream.range(0, 300).mapToObj(i -> teamDTO("Imported " + i)).toList();
+            ResponseEntity<BulkImportResultDTO> teamImport = restTemplate.withBasicAuth("admin", "admin123")
+                    .postForEntity("/api/teams/bulk", newTeams, BulkImportResultDTO.class);
+            assertThat(teamImport.getBody().getCreated()).isEqualTo(300);
+
+            assertThat(completed.getCount()).isEqualTo(1);
+            assertThat(meterRegistry.counter("football.events.dropped").count()).isEqualTo(dropped);
+        } finally {
+            release.countDown();
+        }
+
+        // one event per team rather than one per player, and the stream is still open afterwards
+        for (TeamDTO team : teams) {
+            assertThat(all.next(RosterEventType.TEAM_UPDATED).getTeamId()).isEqualTo(team.getId());
+        }
+        for (int i = 0; i < 50; i++) {
+            assertThat(all.next(RosterEventType.PLAYER_CREATED).getTeamId()).isNull();
+        }
+        for (int i = 0; i < 300; i++) {
+            all.next(RosterEventType.TEAM_CREATED);
+        }
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/teams/" + teams.get(0).getId());
+        assertThat(all.next(RosterEventType.TEAM_DELETED).getTeamId()).isEqualTo(teams.get(0).getId());
+    }
+
+    private TeamDTO createTeam(String name) {
+        return restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams", teamDTO(name), TeamDTO.class).getBody();
+    }
+
+    private EventStream subscribe(String query) throws Exception {
+        EventStream stream = new EventStream(HttpClient.newHttpClient(), URI.create("http://localhost:" + port + "/api/events" + query));
+        streams.add(stream);
+        return stream;
+    }
+
+    private static TeamDTO teamDTO(String name) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(name.substring(0, 3).toUpperCase());
+        teamDTO.setBudget(5_000_000.0);
+        return teamDTO;
+    }
+
+    private static PlayerDTO playerDTO(Long teamId) {
+        PlayerDTO player = new PlayerDTO();
+        player.setFirstName("Jean-Clair");
+        player.setLastName("Todibo");
+        player.setPosition("Defender");
+        player.setJerseyNumber(6);
+        player.setSalary(1_000_000.0);
+        player.setTeamId(teamId);
+        return player;
+    }
+
+    /**
+     * Reads an event stream on its own thread, once the server acknowledged the subscription.
+     */
+    private final class EventStream {
+
+        private final HttpClient http;
+        private final HttpResponse<Stream<String>> response;
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        EventStream(HttpClient http, URI uri) throws Exception {
+            this.http = http;
+            String credentials = Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+            this.response = http.send(HttpRequest.newBuilder(uri)
+                    .header(HttpHeaders.AUTHORIZATION, "Basic " + credentials)
+                    .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .build(), HttpResponse.BodyHandlers.ofLines());
+            assertThat(response.statusCode()).isEqualTo(200);
+            Thread.ofVirtual().start(() -> {
+                try {
+                    response.body().forEach(lines::add);
+                } catch (RuntimeException e) {
+                    // closed by the test
+                }
+            });
+            // the comment proves the frame was not held back by the compression threshold
+            assertThat(lines.poll(5, TimeUnit.SECONDS)).isEqualTo(":subscribed");
+        }
+
+        String contentType() {
+            return response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse("");
+        }
+
+        /**
+         * The next event, which must be of the given type; heartbeats are skipped.
+         */
+        RosterEventDTO next(RosterEventType expectedType) throws InterruptedException, IOException {
+            String name = null;
+            String data = null;
+            String line;
+            while ((line = lines.poll(5, TimeUnit.SECONDS)) != null) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    data = line.substring("data:".length());
+                } else if (line.isEmpty() && name != null) {
+                    break;
+                }
+            }
+            assertThat(name).isEqualTo(expectedType.name());
+            JsonNode event = objectMapper.readTree(data);
+            assertThat(event.get("type").asText()).isEqualTo(name);
+            assertThat(event.has("committedAt")).isTrue();
+            return objectMapper.treeToValue(event, RosterEventDTO.class);
+        }
+
+        void close() {
+            response.body().close();
+            http.shutdownNow();
+        }
+    }
+}
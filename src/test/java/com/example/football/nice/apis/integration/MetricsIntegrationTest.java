@@ -0,0 +1,100 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void testPrometheusEndpointExposesLatencyHistogramsAndPoolMetrics() {
+        Long teamId = createTeamWithPlayers(3);
+        restTemplate.withBasicAuth("admin", "admin123").getForEntity("/api/teams/" + teamId, String.class);
+
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody())
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/teams/{id}\"")
+                .contains("football_service_seconds_bucket{")
+                .contains("method=\"getTeamById\"")
+                .contains("hibernate_request_statements_bucket{")
+                .contains("hikaricp_connections_acquire_seconds_bucket{");
+    }
+
+    @Test
+    void testHibernateWorkIsRecordedPerRequest() {
+        Long teamId = createTeamWithPlayers(3);
+        restTemplate.withBasicAuth("admin", "admin123").getForEntity("/api/teams/" + teamId, String.class);
+
+        // the team and its three players
+        assertThat(meterRegistry.get("hibernate.request.entity.loads").tag("uri", "/api/teams/{id}").summary().max())
+                .isGreaterThanOrEqualTo(4);
+        assertThat(meterRegistry.get("hibernate.request.statements").tag("uri", "/api/teams/{id}").summary().count())
+                .isPositive();
+        assertThat(meterRegistry.find("hibernate.statements").meters()).isNotEmpty();
+    }
+
+    @Test
+    void testMetricsRequireAuthenticationButHealthDoesNot() {
+        assertThat(restTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCodeValue()).isEqualTo(401);
+        assertThat(restTemplate.getForEntity("/actuator/health", String.class).getStatusCodeValue()).isEqualTo(200);
+    }
+
+    private Long createTeamWithPlayers(int players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName("Metrics Team");
+        teamDTO.setAcronym("MT");
+        teamDTO.setBudget(100000.0);
+        List<PlayerDTO> roster = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setFirstName("Player");
+            playerDTO.setLastName("Number " + i);
+            playerDTO.setPosition("Midfielder");
+            playerDTO.setJerseyNumber(i + 1);
+            roster.add(playerDTO);
+        }
+        teamDTO.setPlayers(roster);
+        return restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class).getBody().getId();
+    }
+}
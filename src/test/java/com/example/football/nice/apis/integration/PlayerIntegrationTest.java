@@ -1,5 +1,7 @@
 package com.example.football.nice.apis.integration;
 
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.CursorPageDTO;
 import com.example.football.nice.apis.dto.PlayerDTO;
 import com.example.football.nice.apis.dto.TeamDTO;
 import com.example.football.nice.apis.repository.PlayerRepository;
@@ -9,11 +11,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +37,8 @@ public class PlayerIntegrationTest {
     @Autowired
     private TeamRepository teamRepository;
 
+    private int nextJerseyNumber = 1;
+
     @BeforeEach
     void setUp() {
         playerRepository.deleteAll();
@@ -122,13 +130,284 @@ public class PlayerIntegrationTest {
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
     }
 
+    @Test
+    void testConditionalGetAndIfMatchOnPlayer() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        PlayerDTO playerDTO = createTestPlayerDTO();
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        ResponseEntity<PlayerDTO> playerResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        String url = "/api/players/" + playerResponse.getBody().getId();
+
+        ResponseEntity<PlayerDTO> first = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, PlayerDTO.class);
+        String eTag = first.getHeaders().getETag();
+        assertThat(eTag).isEqualTo(playerResponse.getHeaders().getETag());
+        HttpHeaders conditionalGet = new HttpHeaders();
+        conditionalGet.setIfNoneMatch(eTag);
+        ResponseEntity<String> notModified = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(conditionalGet), String.class);
+        assertThat(notModified.getStatusCodeValue()).isEqualTo(304);
+
+        HttpHeaders conditionalPut = new HttpHeaders();
+        conditionalPut.setIfMatch(eTag);
+        playerDTO.setAge(31);
+        ResponseEntity<PlayerDTO> accepted = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(playerDTO, conditionalPut), PlayerDTO.class);
+        assertThat(accepted.getStatusCodeValue()).isEqualTo(200);
+        assertThat(accepted.getHeaders().getETag()).isNotEqualTo(eTag);
+
+        playerDTO.setAge(32);
+        ResponseEntity<String> rejected = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(playerDTO, conditionalPut), String.class);
+        assertThat(rejected.getStatusCodeValue()).isEqualTo(412);
+
+        ResponseEntity<PlayerDTO> modified = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(conditionalGet), PlayerDTO.class);
+        assertThat(modified.getStatusCodeValue()).isEqualTo(200);
+        assertThat(modified.getHeaders().getETag()).isEqualTo(accepted.getHeaders().getETag());
+        assertThat(modified.getBody().getAge()).isEqualTo(31);
+    }
+
+    @Test
+    void testPlayerETagIgnoresRosterChangesOfItsTeam() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        PlayerDTO playerDTO = createTestPlayerDTO();
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        ResponseEntity<PlayerDTO> playerResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        PlayerDTO teammate = createTestPlayerDTO();
+        teammate.setLastName("Teammate");
+        teammate.setTeamId(teamResponse.getBody().getId());
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", teammate, PlayerDTO.class);
+
+        HttpHeaders conditionalPut = new HttpHeaders();
+        conditionalPut.setIfMatch(playerResponse.getHeaders().getETag());
+        playerDTO.setAge(31);
+        ResponseEntity<PlayerDTO> accepted = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/" + playerResponse.getBody().getId(), HttpMethod.PUT,
+                        new HttpEntity<>(playerDTO, conditionalPut), PlayerDTO.class);
+
+        assertThat(accepted.getStatusCodeValue()).isEqualTo(200);
+    }
+
+    @Test
+    void testTeamRenameChangesThePlayerETagButNotItsIfMatch() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        PlayerDTO playerDTO = createTestPlayerDTO();
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        ResponseEntity<PlayerDTO> playerResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        String url = "/api/players/" + playerResponse.getBody().getId();
+        String eTag = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, PlayerDTO.class).getHeaders().getETag();
+
+        HttpHeaders patchHeaders = new HttpHeaders();
+        patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        restTemplate.withBasicAuth("admin", "admin123").exchange("/api/teams/" + teamResponse.getBody().getId(),
+                HttpMethod.PATCH, new HttpEntity<>("{\"name\": \"Renamed Team\"}", patchHeaders), Void.class);
+
+        HttpHeaders conditionalGet = new HttpHeaders();
+        conditionalGet.setIfNoneMatch(eTag);
+        ResponseEntity<PlayerDTO> renamed = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(conditionalGet), PlayerDTO.class);
+        assertThat(renamed.getStatusCodeValue()).isEqualTo(200);
+        assertThat(renamed.getBody().getTeamName()).isEqualTo("Renamed Team");
+        assertThat(renamed.getHeaders().getETag()).isNotEqualTo(eTag);
+
+        // the player itself did not change, so the tag read before the rename is still a valid precondition
+        HttpHeaders conditionalPut = new HttpHeaders();
+        conditionalPut.setIfMatch(eTag);
+        playerDTO.setAge(31);
+        ResponseEntity<PlayerDTO> accepted = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(playerDTO, conditionalPut), PlayerDTO.class);
+        assertThat(accepted.getStatusCodeValue()).isEqualTo(200);
+    }
+
+    @Test
+    void testPatchPlayer() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        PlayerDTO playerDTO = createTestPlayerDTO();
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        ResponseEntity<PlayerDTO> playerResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        String url = "/api/players/" + playerResponse.getBody().getId();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        headers.setIfMatch(playerResponse.getHeaders().getETag());
+        ResponseEntity<Void> patched = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PATCH, new HttpEntity<>("{\"salary\": 75000.0, \"nationality\": null}", headers), Void.class);
+        assertThat(patched.getStatusCodeValue()).isEqualTo(204);
+        assertThat(patched.getHeaders().getETag()).isNotEqualTo(playerResponse.getHeaders().getETag());
+
+        ResponseEntity<PlayerDTO> current = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, PlayerDTO.class);
+        assertThat(current.getHeaders().getETag()).isEqualTo(patched.getHeaders().getETag());
+        assertThat(current.getBody().getSalary()).isEqualTo(75000.0);
+        assertThat(current.getBody().getNationality()).isNull();
+        assertThat(current.getBody().getFirstName()).isEqualTo("John");
+        assertThat(current.getBody().getTeamName()).isEqualTo("Team Name");
+
+        // l'ETag envoyé est maintenant périmé
+        ResponseEntity<String> stale = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PATCH, new HttpEntity<>("{\"age\": 40}", headers), String.class);
+        assertThat(stale.getStatusCodeValue()).isEqualTo(412);
+
+        headers.setIfMatch(List.of());
+        ResponseEntity<String> unknownField = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PATCH, new HttpEntity<>("{\"teamName\": \"Other\"}", headers), String.class);
+        assertThat(unknownField.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    void testCachedTeamRosterIsRefreshedWhenPlayerIsAdded() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        String teamUrl = "/api/teams/" + teamResponse.getBody().getId();
+        assertThat(restTemplate.withBasicAuth("admin", "admin123").getForEntity(teamUrl, TeamDTO.class).getBody().getPlayers()).isEmpty();
+
+        PlayerDTO playerDTO = createTestPlayerDTO();
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, PlayerDTO.class);
 
+        TeamDTO team = restTemplate.withBasicAuth("admin", "admin123").getForEntity(teamUrl, TeamDTO.class).getBody();
+        assertThat(team.getPlayers()).extracting(PlayerDTO::getFirstName).containsExactly("John");
+    }
+
+    @Test
+    void testStreamAllPlayersAsNdjson() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+
+        for (int i = 1; i <= 3; i++) {
+            PlayerDTO playerDTO = createTestPlayerDTO();
+            playerDTO.setLastName("Doe " + i);
+            playerDTO.setTeamId(teamResponse.getBody().getId());
+            restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        List<String> lines = response.getBody().lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines).allMatch(line -> line.startsWith("{") && line.contains("\"teamName\":\"Team Name\""));
+    }
+
+    @Test
+    void testGetAllPlayersDefaultsToJsonArray() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+
+        PlayerDTO playerDTO = createTestPlayerDTO();
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, PlayerDTO.class);
+
+        ResponseEntity<PlayerDTO[]> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/players", PlayerDTO[].class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).hasSize(1);
+    }
+
+    @Test
+    void testGetPlayersWithCursorPagination() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+
+        for (String lastName : List.of("Cole", "Adams", "Brown")) {
+            PlayerDTO playerDTO = createTestPlayerDTO();
+            playerDTO.setLastName(lastName);
+            playerDTO.setTeamId(teamResponse.getBody().getId());
+            restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        }
+
+        ResponseEntity<CursorPageDTO<PlayerDTO>> firstPage = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/scroll?size=2&sortBy=lastName", HttpMethod.GET, null,
+                        new ParameterizedTypeReference<CursorPageDTO<PlayerDTO>>() {});
+        ResponseEntity<CursorPageDTO<PlayerDTO>> secondPage = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/scroll?size=2&sortBy=lastName&after=" + firstPage.getBody().getNext(), HttpMethod.GET, null,
+                        new ParameterizedTypeReference<CursorPageDTO<PlayerDTO>>() {});
+
+        assertThat(firstPage.getBody().getItems()).extracting(PlayerDTO::getLastName).containsExactly("Adams", "Brown");
+        assertThat(secondPage.getBody().getItems()).extracting(PlayerDTO::getLastName).containsExactly("Cole");
+        assertThat(secondPage.getBody().getNext()).isNull();
+    }
+
+    @Test
+    void testGetPlayersWithCursorPaginationSortedById() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+
+        for (String lastName : List.of("Cole", "Adams", "Brown")) {
+            PlayerDTO playerDTO = createTestPlayerDTO();
+            playerDTO.setLastName(lastName);
+            playerDTO.setTeamId(teamResponse.getBody().getId());
+            restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, PlayerDTO.class);
+        }
+
+        ResponseEntity<CursorPageDTO<PlayerDTO>> firstPage = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/scroll?size=2", HttpMethod.GET, null,
+                        new ParameterizedTypeReference<CursorPageDTO<PlayerDTO>>() {});
+        ResponseEntity<CursorPageDTO<PlayerDTO>> secondPage = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/scroll?size=2&after=" + firstPage.getBody().getNext(), HttpMethod.GET, null,
+                        new ParameterizedTypeReference<CursorPageDTO<PlayerDTO>>() {});
+
+        assertThat(secondPage.getStatusCodeValue()).isEqualTo(200);
+        assertThat(firstPage.getBody().getItems()).extracting(PlayerDTO::getLastName).containsExactly("Cole", "Adams");
+        assertThat(secondPage.getBody().getItems()).extracting(PlayerDTO::getLastName).containsExactly("Brown");
+    }
+
+    @Test
+    void testBulkImportPlayersReportsErrorsPerRow() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PlayerDTO playerDTO = createTestPlayerDTO();
+            playerDTO.setLastName("Bulk " + i);
+            playerDTO.setTeamId(teamResponse.getBody().getId());
+            players.add(playerDTO);
+        }
+        PlayerDTO missingPosition = createTestPlayerDTO();
+        missingPosition.setLastName("No Position");
+        missingPosition.setPosition(null);
+        players.add(missingPosition);
+        PlayerDTO duplicate = createTestPlayerDTO();
+        duplicate.setLastName("Bulk 0");
+        players.add(duplicate);
+        PlayerDTO unknownTeam = createTestPlayerDTO();
+        unknownTeam.setLastName("Unknown Team");
+        unknownTeam.setTeamId(-1L);
+        players.add(unknownTeam);
+
+        ResponseEntity<BulkImportResultDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players/bulk", players, BulkImportResultDTO.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody().getReceived()).isEqualTo(6);
+        assertThat(response.getBody().getCreated()).isEqualTo(3);
+        assertThat(response.getBody().getErrors()).extracting(BulkImportResultDTO.RowError::row).containsExactlyInAnyOrder(3, 4, 5);
+        assertThat(playerRepository.findByTeamId(teamResponse.getBody().getId())).hasSize(3);
+    }
 
     private TeamDTO createTestTeamDTO() {
         TeamDTO teamDTO = new TeamDTO();
         teamDTO.setName("Team Name");
         teamDTO.setAcronym("TN");
-        teamDTO.setBudget(100000.0);
+        teamDTO.setBudget(1000000.0);
         return teamDTO;
     }
 
@@ -138,7 +417,8 @@ public class PlayerIntegrationTest {
         playerDTO.setLastName("Doe");
         playerDTO.setPosition("Forward");
         playerDTO.setAge(25);
-        playerDTO.setJerseyNumber(10);
+        // jersey numbers are unique within a team
+        playerDTO.setJerseyNumber(nextJerseyNumber++);
         playerDTO.setNationality("American");
         playerDTO.setSize("6ft");
         playerDTO.setSalary(50000.0);
@@ -0,0 +1,249 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.CursorPageDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.PlayerSearchCriteria;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.service.BulkImportService;
+import com.example.football.nice.apis.service.PlayerService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class PlayerSearchIntegrationTest {
+
+    private static final String[] POSITIONS = {"Goalkeeper", "Defender", "Midfielder", "Forward"};
+    private static final String[] NATIONALITIES = {"French", "Brazilian", "Senegalese", "Spanish", "Moroccan", "Belgian"};
+    private static final int TEAMS = 20;
+    private static final int PLAYERS_PER_TEAM = 25;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<QueryInfo> captured = new ArrayList<>();
+    private final QueryExecutionListener capture = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            captured.addAll(queryInfoList);
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        List<TeamDTO> league = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            league.add(team(t));
+        }
+        bulkImportService.importTeams(league);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("ANALYZE");
+        }
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capture);
+    }
+
+    @Test
+    void testSearchCombinesFiltersAndPagesWithCursor() {
+        String url = "/api/players/search?position=Defender&nationality=Brazilian&maxAge=25&minSalary=100000&size=3";
+        List<PlayerDTO> found = new ArrayList<>();
+        String next = null;
+        do {
+            CursorPageDTO<PlayerDTO> page = search(url + (next == null ? "" : "&after=" + next)).getBody();
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(3);
+            found.addAll(page.getItems());
+            next = page.getNext();
+        } while (next != null);
+
+        List<PlayerDTO> expected = playerRepository.findAllAsDto().stream()
+                .filter(p -> p.getPosition().equals("Defender") && p.getNationality().equals("Brazilian")
+                        && p.getAge() <= 25 && p.getSalary() >= 100000)
+                .toList();
+        assertThat(expected).hasSizeGreaterThan(3);
+        assertThat(found).extracting(PlayerDTO::getId)
+                .containsExactlyElementsOf(expected.stream().map(PlayerDTO::getId).sorted().toList());
+        assertThat(found).allSatisfy(player -> assertThat(player.getTeamName()).isNotNull());
+    }
+
+    @Test
+    void testSearchByTeamAndJerseyNumber() {
+        Long teamId = teamRepository.findAll().get(0).getId();
+        ResponseEntity<CursorPageDTO<PlayerDTO>> response = search("/api/players/search?teamId=" + teamId + "&jerseyNumber=7");
+        assertThat(response.getBody().getItems()).singleElement()
+                .satisfies(player -> {
+                    assertThat(player.getTeamId()).isEqualTo(teamId);
+                    assertThat(player.getJerseyNumber()).isEqualTo(7);
+                });
+        assertThat(response.getBody().getNext()).isNull();
+    }
+
+    @Test
+    void testSearchRejectsInvertedRanges() {
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/players/search?minAge=30&maxAge=20", String.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    void testEveryFilterCombinationIsServedByAnIndex() throws Exception {
+        Long teamId = teamRepository.findAll().get(0).getId();
+        List<Consumer<PlayerSearchCriteria>> filters = List.of(
+                criteria -> criteria.setPosition("Defender"),
+                criteria -> criteria.setNationality("Brazilian"),
+                criteria -> {
+                    criteria.setMinAge(20);
+                    criteria.setMaxAge(24);
+                },
+                criteria -> {
+                    criteria.setMinSalary(2_000_000.0);
+                    criteria.setMaxSalary(2_100_000.0);
+                },
+                criteria -> criteria.setTeamId(teamId),
+                criteria -> criteria.setJerseyNumber(7));
+
+        for (int combination = 1; combination < 1 << filters.size(); combination++) {
+            PlayerSearchCriteria criteria = new PlayerSearchCriteria();
+            for (int f = 0; f < filters.size(); f++) {
+                if ((combination & 1 << f) != 0) {
+                    filters.get(f).accept(criteria);
+                }
+            }
+            captured.clear();
+            playerService.searchPlayers(criteria, null, 50);
+            QueryInfo query = captured.stream()
+                    .filter(info -> info.getQuery().contains(" from player ")).findFirst().orElseThrow();
+            assertServedByAnIndex(query, "filters " + Integer.toBinaryString(combination));
+        }
+    }
+
+    /**
+     * Runs the captured statement again under EXPLAIN with the same parameters, on whichever database the test
+     * profile points at, and checks that the player table is read through an index.
+     */
+    private void assertServedByAnIndex(QueryInfo query, String description) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            if (postgres) {
+                // a few hundred rows are cheaper to scan than to look up: make the planner use an index if it can
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET enable_seqscan = off");
+                }
+            }
+            String plan;
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+                for (ParameterSetOperation parameter : query.getParametersList().get(0)) {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                }
+                StringBuilder lines = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        lines.append(rows.getString(1)).append('\n');
+                    }
+                }
+                plan = lines.toString();
+            } finally {
+                if (postgres) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("RESET enable_seqscan");
+                    }
+                }
+            }
+            if (postgres) {
+                // with sequential scans off, "Index Scan using player_pkey" plus a Filter still reads every row in
+                // id order: require one of the search indexes, "Index Scan using idx_player_<columns> on player" or
+                // "Bitmap Index Scan on idx_player_<columns>", followed by the condition it looks up
+                assertThat(plan).as(description)
+                        .doesNotContainPattern("Seq Scan on player\\b")
+                        .doesNotContain("player_pkey")
+                        .containsPattern("(Index (Only )?Scan using|Bitmap Index Scan on) idx_player_\\w+[^\\n]*\\n\\s*Index Cond: ");
+            } else {
+                // H2: an index lookup reads "/* PUBLIC.<index>: <condition> */", a full scan "/* PUBLIC.PLAYER.tableScan */"
+                // and a walk of the primary key "/* PUBLIC.PRIMARY_KEY_<n> */"
+                assertThat(plan).as(description)
+                        .doesNotContain("tableScan")
+                        .doesNotContain("PRIMARY_KEY")
+                        .containsPattern("/\\* PUBLIC\\.\\w+: ");
+            }
+        }
+    }
+
+    private ResponseEntity<CursorPageDTO<PlayerDTO>> search(String url) {
+        ResponseEntity<CursorPageDTO<PlayerDTO>> response = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<CursorPageDTO<PlayerDTO>>() {});
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response;
+    }
+
+    private static TeamDTO team(int t) {
+        TeamDTO team = new TeamDTO();
+        team.setName("Search Team " + t);
+        team.setAcronym("ST" + t);
+        team.setBudget(100_000_000.0);
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int p = 0; p < PLAYERS_PER_TEAM; p++) {
+            int n = t * PLAYERS_PER_TEAM + p;
+            PlayerDTO player = new PlayerDTO();
+            player.setFirstName("First" + n);
+            player.setLastName("Last" + n);
+            player.setPosition(POSITIONS[p % POSITIONS.length]);
+            player.setNationality(NATIONALITIES[n % NATIONALITIES.length]);
+            player.setAge(18 + n % 18);
+            player.setJerseyNumber(p + 1);
+            player.setSalary(50_000.0 + (n * 7919L % 100) * 30_000);
+            players.add(player);
+        }
+        team.setPlayers(players);
+        return team;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against three in-memory H2 databases, a primary and two replicas, whatever the test profile points at.
+ * Replication is simulated by copying the primary into the replicas with {@link #replicate()}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.PRIMARY,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "football.datasource.replicas[0].url=" + ReadReplicaRoutingIntegrationTest.REPLICA_0,
+        "football.datasource.replicas[0].username=sa",
+        "football.datasource.replicas[1].url=" + ReadReplicaRoutingIntegrationTest.REPLICA_1,
+        "football.datasource.replicas[1].username=sa",
+        "football.datasource.sticky-window=500ms"})
+@ActiveProfiles("test")
+public class ReadReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_0 = "jdbc:h2:mem:routing-replica-0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:routing-replica-1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        replicate();
+    }
+
+    @Test
+    void testReadOnlyServiceReadsGoToReplicasExceptRightAfterAWrite() throws Exception {
+        TeamDTO team = new TeamDTO();
+        team.setName("Nice");
+        team.setAcronym("NIC");
+        team.setBudget(50_000_000.0);
+        assertThat(restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams", team, TeamDTO.class)
+                .getStatusCodeValue()).isEqualTo(200);
+        double replicaReads = routed("replica-0") + routed("replica-1");
+
+        // the replicas have not caught up, but the client that wrote reads from the primary
+        assertThat(teamNames()).containsExactly("Nice");
+        assertThat(routed("replica-0") + routed("replica-1")).isEqualTo(replicaReads);
+
+        Thread.sleep(700);
+        assertThat(teamNames()).isEmpty();
+        assertThat(routed("replica-0") + routed("replica-1")).isEqualTo(replicaReads + 1);
+
+        replicate();
+        double replica0 = routed("replica-0");
+        double replica1 = routed("replica-1");
+        assertThat(teamNames()).containsExactly("Nice");
+        assertThat(teamNames()).containsExactly("Nice");
+        // in turn
+        assertThat(routed("replica-0")).isEqualTo(replica0 + 1);
+        assertThat(routed("replica-1")).isEqualTo(replica1 + 1);
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+    }
+
+    @Test
+    void testCachedReadsNeverComeFromALaggingReplica() throws Exception {
+        TeamDTO team = new TeamDTO();
+        team.setName("Nice");
+        team.setAcronym("NIC");
+        team.setBudget(50_000_000.0);
+        TeamDTO created = restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams", team, TeamDTO.class).getBody();
+        replicate();
+        created.setName("OGC Nice");
+        assertThat(restTemplate.withBasicAuth("admin", "admin123").exchange("/api/teams/" + created.getId(), HttpMethod.PUT,
+                new HttpEntity<>(created), TeamDTO.class).getStatusCodeValue()).isEqualTo(200);
+
+        // the sticky window is over but the replicas still have the old name: the cache is filled from the primary
+        Thread.sleep(700);
+        double replicaReads = routed("replica-0") + routed("replica-1");
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<TeamDTO> read = restTemplate.withBasicAuth("admin", "admin123")
+                    .getForEntity("/api/teams/" + created.getId(), TeamDTO.class);
+            assertThat(read.getStatusCodeValue()).isEqualTo(200);
+            assertThat(read.getBody().getName()).isEqualTo("OGC Nice");
+        }
+        assertThat(routed("replica-0") + routed("replica-1")).isEqualTo(replicaReads);
+    }
+
+    @Test
+    void testOtherReadOnlyTransactionsStayOnPrimary() {
+        double replicaReads = routed("replica-0") + routed("replica-1");
+        double primary = routed("primary");
+
+        ResponseEntity<String> stats = restTemplate.withBasicAuth("admin", "admin123").getForEntity("/api/stats/league", String.class);
+        assertThat(stats.getStatusCodeValue()).isEqualTo(200);
+
+        assertThat(routed("primary")).isGreaterThan(primary);
+        assertThat(routed("replica-0") + routed("replica-1")).isEqualTo(replicaReads);
+    }
+
+    private List<String> teamNames() {
+        ResponseEntity<TeamDTO[]> teams = restTemplate.withBasicAuth("admin", "admin123").getForEntity("/api/teams", TeamDTO[].class);
+        assertThat(teams.getStatusCodeValue()).isEqualTo(200);
+        return List.of(teams.getBody()).stream().map(TeamDTO::getName).toList();
+    }
+
+    private double routed(String route) {
+        return meterRegistry.counter("football.datasource.route", "route", route).count();
+    }
+
+    private static void replicate() throws SQLException {
+        String script = Path.of("target", "routing-primary.sql").toAbsolutePath().toString();
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", ""); Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + script + "'");
+        }
+        for (String url : List.of(REPLICA_0, REPLICA_1)) {
+            try (Connection replica = DriverManager.getConnection(url, "sa", ""); Statement statement = replica.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM '" + script + "'");
+            }
+        }
+    }
+}
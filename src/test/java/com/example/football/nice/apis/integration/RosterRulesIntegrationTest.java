@@ -0,0 +1,205 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.entity.Team;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.RosterTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "football.roster.max-squad-size=4")
+@ActiveProfiles("test")
+public class RosterRulesIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void testPayrollMustFitTheBudget() {
+        TeamDTO team = createTeam("Nice", 1_000_000.0, player("Marcin", "Bulka", 1, 400_000.0), player("Dante", "Bonfim", 4, 400_000.0));
+
+        assertThat(createPlayer(player("Youcef", "Atal", 20, 300_000.0), team.getId()).getStatusCodeValue()).isEqualTo(409);
+        assertThat(createPlayer(player("Youcef", "Atal", 20, 200_000.0), team.getId()).getStatusCodeValue()).isEqualTo(200);
+        assertThat(patch("/api/teams/" + team.getId(), "{\"budget\": 900000}").getStatusCodeValue()).isEqualTo(409);
+        Long bulka = team.getPlayers().get(0).getId();
+        assertThat(patch("/api/players/" + bulka, "{\"salary\": 400000.01}").getStatusCodeValue()).isEqualTo(409);
+        // lowering a salary is always allowed, and frees room in the budget
+        assertThat(patch("/api/players/" + bulka, "{\"salary\": 300000}").getStatusCodeValue()).isEqualTo(204);
+        assertThat(patch("/api/teams/" + team.getId(), "{\"budget\": 900000}").getStatusCodeValue()).isEqualTo(204);
+
+        ResponseEntity<String> tooExpensive = restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams",
+                teamDTO("Lyon", 500_000.0, List.of(player("Anthony", "Lopes", 1, 600_000.0))), String.class);
+        assertThat(tooExpensive.getStatusCodeValue()).isEqualTo(409);
+        assertTotalsMatchRoster(team.getId());
+    }
+
+    @Test
+    void testJerseyNumbersAreUniqueWithinATeam() {
+        TeamDTO nice = createTeam("Nice", 10_000_000.0, player("Marcin", "Bulka", 1, 1.0), player("Dante", "Bonfim", 4, 1.0));
+        TeamDTO lyon = createTeam("Lyon", 10_000_000.0, player("Anthony", "Lopes", 1, 1.0));
+
+        assertThat(createPlayer(player("Youcef", "Atal", 4, 1.0), nice.getId()).getStatusCodeValue()).isEqualTo(409);
+        assertThat(createPlayer(player("Youcef", "Atal", 150, 1.0), nice.getId()).getStatusCodeValue()).isEqualTo(400);
+        // a transfer is checked against the new team, and the number stays free in the old one
+        Long lopes = lyon.getPlayers().get(0).getId();
+        assertThat(patch("/api/players/" + lopes, "{\"teamId\": " + nice.getId() + "}").getStatusCodeValue()).isEqualTo(409);
+        assertThat(patch("/api/players/" + lopes, "{\"teamId\": " + nice.getId() + ", \"jerseyNumber\": 16}").getStatusCodeValue()).isEqualTo(204);
+        assertThat(createPlayer(player("Rémi", "Riou", 1, 1.0), lyon.getId()).getStatusCodeValue()).isEqualTo(200);
+
+        // two players of a roster can swap their numbers in one update
+        TeamDTO current = restTemplate.withBasicAuth("admin", "admin123").getForEntity("/api/teams/" + nice.getId(), TeamDTO.class).getBody();
+        current.getPlayers().forEach(player -> {
+            if (player.getJerseyNumber() == 1) {
+                player.setJerseyNumber(4);
+            } else if (player.getJerseyNumber() == 4) {
+                player.setJerseyNumber(1);
+            }
+        });
+        ResponseEntity<TeamDTO> swapped = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/teams/" + nice.getId(), HttpMethod.PUT, new HttpEntity<>(current), TeamDTO.class);
+        assertThat(swapped.getStatusCodeValue()).isEqualTo(200);
+        assertTotalsMatchRoster(nice.getId());
+        assertTotalsMatchRoster(lyon.getId());
+    }
+
+    @Test
+    void testLegacyDuplicateNumberStaysTakenUntilBothPlayersLeave() {
+        TeamDTO nice = createTeam("Nice", 10_000_000.0, player("Marcin", "Bulka", 7, 1.0), player("Dante", "Bonfim", 8, 1.0));
+        // a roster from before the rules: two players wear 7, and the team has no totals yet
+        Player bonfim = playerRepository.findById(nice.getPlayers().get(1).getId()).orElseThrow();
+        bonfim.setJerseyNumber(7);
+        playerRepository.save(bonfim);
+        Team team = teamRepository.findById(nice.getId()).orElseThrow();
+        team.setPlayerCount(null);
+        team.setPayrollCents(null);
+        team.setJerseyNumberCounts(null);
+        teamRepository.save(team);
+
+        ResponseEntity<Void> deleted = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/" + bonfim.getId(), HttpMethod.DELETE, null, Void.class);
+        assertThat(deleted.getStatusCode().is2xxSuccessful()).isTrue();
+        // Bulka still wears 7
+        assertThat(createPlayer(player("Youcef", "Atal", 7, 1.0), nice.getId()).getStatusCodeValue()).isEqualTo(409);
+        assertTotalsMatchRoster(nice.getId());
+    }
+
+    @Test
+    void testSquadSizeIsCapped() {
+        TeamDTO team = createTeam("Nice", 10_000_000.0, player("Marcin", "Bulka", 1, 1.0), player("Dante", "Bonfim", 4, 1.0),
+                player("Youcef", "Atal", 20, 1.0));
+
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PlayerDTO playerDTO = player("Bulk", "Player " + i, 30 + i, 1.0);
+            playerDTO.setTeamId(team.getId());
+            players.add(playerDTO);
+        }
+        ResponseEntity<BulkImportResultDTO> imported = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players/bulk", players, BulkImportResultDTO.class);
+        assertThat(imported.getBody().getCreated()).isEqualTo(1);
+        assertThat(imported.getBody().getErrors()).extracting(BulkImportResultDTO.RowError::row).containsExactly(1, 2);
+        assertThat(createPlayer(player("Free", "Agent", 9, 1.0), null).getStatusCodeValue()).isEqualTo(200);
+        assertTotalsMatchRoster(team.getId());
+    }
+
+    @Test
+    void testConcurrentSigningsNeverOverrunTheBudget() throws Exception {
+        TeamDTO team = createTeam("Nice", 1_000_000.0);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 16; i++) {
+                PlayerDTO playerDTO = player("Signing", "Number " + i, 40 + i, 300_000.0);
+                statuses.add(clients.submit(() -> createPlayer(playerDTO, team.getId()).getStatusCodeValue()));
+            }
+        }
+        for (Future<Integer> status : statuses) {
+            // 409 is either the budget or a concurrent roster write
+            assertThat(status.get()).isIn(200, 409);
+        }
+        List<Player> roster = playerRepository.findByTeamId(team.getId());
+        assertThat(roster).isNotEmpty().hasSizeLessThanOrEqualTo(3);
+        assertTotalsMatchRoster(team.getId());
+    }
+
+    private void assertTotalsMatchRoster(Long teamId) {
+        Team team = teamRepository.findById(teamId).orElseThrow();
+        List<Player> roster = playerRepository.findByTeamId(teamId);
+        byte[] jerseyNumberCounts = new byte[RosterTotals.MAX_JERSEY_NUMBER + 1];
+        roster.forEach(player -> jerseyNumberCounts[player.getJerseyNumber()]++);
+        assertThat(team.getPlayerCount()).isEqualTo(roster.size());
+        assertThat(team.getPayrollCents()).isEqualTo(roster.stream().mapToLong(player -> RosterTotals.cents(player.getSalary())).sum());
+        assertThat(team.getJerseyNumberCounts()).isEqualTo(jerseyNumberCounts);
+    }
+
+    private ResponseEntity<String> createPlayer(PlayerDTO playerDTO, Long teamId) {
+        playerDTO.setTeamId(teamId);
+        return restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, String.class);
+    }
+
+    private ResponseEntity<Void> patch(String url, String patch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        return restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PATCH, new HttpEntity<>(patch, headers), Void.class);
+    }
+
+    private TeamDTO createTeam(String name, double budget, PlayerDTO... players) {
+        ResponseEntity<TeamDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO(name, budget, List.of(players)), TeamDTO.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response.getBody();
+    }
+
+    private static TeamDTO teamDTO(String name, double budget, List<PlayerDTO> players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(name.substring(0, 3).toUpperCase());
+        teamDTO.setBudget(budget);
+        teamDTO.setPlayers(new ArrayList<>(players));
+        return teamDTO;
+    }
+
+    private static PlayerDTO player(String firstName, String lastName, int jerseyNumber, double salary) {
+        PlayerDTO player = new PlayerDTO();
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setPosition("Defender");
+        player.setJerseyNumber(jerseyNumber);
+        player.setSalary(salary);
+        return player;
+    }
+}
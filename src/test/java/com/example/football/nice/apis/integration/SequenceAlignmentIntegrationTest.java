@@ -0,0 +1,81 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.TeamDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on an in-memory H2 database whose id sequences were created by an older release,
+ * with {@code INCREMENT BY 1}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=" + SequenceAlignmentIntegrationTest.URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@ActiveProfiles("test")
+public class SequenceAlignmentIntegrationTest {
+
+    static final String URL = "jdbc:h2:mem:legacy-sequences;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Called while the application context is being prepared, so the sequences exist before the schema script runs.
+     */
+    @DynamicPropertySource
+    static void createLegacySequences(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS team_id_seq START WITH 1 INCREMENT BY 1");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS player_id_seq START WITH 1 INCREMENT BY 1");
+        }
+    }
+
+    @Test
+    void testLegacySequencesAreAlignedWithTheAllocationSize() {
+        assertThat(increment("TEAM_ID_SEQ")).isEqualTo(50);
+        assertThat(increment("PLAYER_ID_SEQ")).isEqualTo(50);
+
+        ResponseEntity<TeamDTO> first = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO("First Team"), TeamDTO.class);
+        ResponseEntity<TeamDTO> second = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO("Second Team"), TeamDTO.class);
+
+        assertThat(first.getStatusCodeValue()).isEqualTo(200);
+        assertThat(second.getStatusCodeValue()).isEqualTo(200);
+        assertThat(second.getBody().getId()).isNotEqualTo(first.getBody().getId());
+    }
+
+    private long increment(String sequenceName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?", Long.class, sequenceName);
+    }
+
+    private TeamDTO createTestTeamDTO(String name) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym("TN");
+        teamDTO.setBudget(100000.0);
+        return teamDTO;
+    }
+}
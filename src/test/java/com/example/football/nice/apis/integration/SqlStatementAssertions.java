@@ -0,0 +1,43 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.config.SqlRequestStatistics;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caps on the SQL work of one request, read from the debug headers the test profile turns on
+ * ({@code football.diagnostics.sql.debug-header}):
+ * <pre>
+ * SqlStatementAssertions.assertThatSql(response).hasAtMostStatements(3).hasNoRepeatedStatements();
+ * </pre>
+ */
+final class SqlStatementAssertions {
+
+    private final ResponseEntity<?> response;
+
+    private SqlStatementAssertions(ResponseEntity<?> response) {
+        this.response = response;
+    }
+
+    static SqlStatementAssertions assertThatSql(ResponseEntity<?> response) {
+        assertThat(response.getHeaders().getFirst(SqlRequestStatistics.STATEMENTS_HEADER))
+                .as("SQL debug header of %s", response.getStatusCode()).isNotNull();
+        return new SqlStatementAssertions(response);
+    }
+
+    SqlStatementAssertions hasAtMostStatements(int max) {
+        assertThat(statements()).as("SQL statements executed by the request").isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    SqlStatementAssertions hasNoRepeatedStatements() {
+        assertThat(Long.parseLong(response.getHeaders().getFirst(SqlRequestStatistics.REPEATED_HEADER)))
+                .as("statement shapes repeated within the request (N+1)").isZero();
+        return this;
+    }
+
+    long statements() {
+        return Long.parseLong(response.getHeaders().getFirst(SqlRequestStatistics.STATEMENTS_HEADER));
+    }
+}
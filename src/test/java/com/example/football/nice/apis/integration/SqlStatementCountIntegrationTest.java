@@ -0,0 +1,139 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.config.SqlRequestStatistics;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.football.nice.apis.integration.SqlStatementAssertions.assertThatSql;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class SqlStatementCountIntegrationTest {
+
+    private static final int ROSTER_SIZE = 11;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void testReadEndpointsStayUnderTheirStatementCap() {
+        TeamDTO team = createTeam();
+        Long playerId = team.getPlayers().get(0).getId();
+
+        // count and page, then one batch fetch for the rosters of the whole page
+        assertThatSql(get("/api/teams?page=0&size=10")).hasAtMostStatements(2).hasNoRepeatedStatements();
+        assertThatSql(get("/api/teams/" + team.getId())).hasAtMostStatements(3).hasNoRepeatedStatements();
+        assertThatSql(get("/api/players")).hasAtMostStatements(1);
+        assertThatSql(get("/api/players/" + playerId)).hasAtMostStatements(2);
+        assertThatSql(get("/api/players/scroll?size=5")).hasAtMostStatements(2);
+    }
+
+    @Test
+    void testWriteEndpointsStayUnderTheirStatementCap() {
+        TeamDTO team = createTeam();
+        PlayerDTO changed = team.getPlayers().get(3);
+        changed.setSalary(changed.getSalary() + 1);
+
+        // inserts and updates of a whole roster go out as one JDBC batch
+        ResponseEntity<TeamDTO> created = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO("Other Team"), TeamDTO.class);
+        assertThat(created.getStatusCodeValue()).isEqualTo(200);
+        // plus one sequence call per table whose pooled block of 50 ids runs out, which depends on earlier tests,
+        // and the position summary batch with an insert for positions it has never seen
+        // every write also reserves its change sequence numbers, reads them back and appends to the change log
+        assertThatSql(created).hasAtMostStatements(4 + 2 + 2 + 3).hasNoRepeatedStatements();
+
+        ResponseEntity<TeamDTO> updated = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/teams/" + team.getId(), HttpMethod.PUT, new HttpEntity<>(team), TeamDTO.class);
+        assertThat(updated.getStatusCodeValue()).isEqualTo(200);
+        // plus the position summary batch and the roster totals, written after the version bump of the team lock
+        assertThatSql(updated).hasAtMostStatements(4 + 2 + 3).hasNoRepeatedStatements();
+
+        // no body: the headers are set by the filter rather than the response body advice
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        ResponseEntity<Void> patched = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/" + changed.getId(), HttpMethod.PATCH,
+                        new HttpEntity<>("{\"salary\": 42000}", headers), Void.class);
+        assertThat(patched.getStatusCodeValue()).isEqualTo(204);
+        // a salary change also moves the position summary and the payroll of the team
+        assertThatSql(patched).hasAtMostStatements(4 + 2 + 3).hasNoRepeatedStatements();
+    }
+
+    @Test
+    void testRepeatedStatementShapesAreDetected() {
+        TeamDTO team = createTeam();
+        SqlRequestStatistics.Counts counts = SqlRequestStatistics.begin();
+        try {
+            // one lookup per player: the N+1 pattern
+            team.getPlayers().forEach(player -> playerRepository.findById(player.getId()));
+        } finally {
+            SqlRequestStatistics.end();
+        }
+
+        Map<String, Integer> repeated = counts.getRepeated(5);
+        assertThat(repeated).hasSize(1);
+        assertThat(repeated.values()).containsExactly(ROSTER_SIZE);
+        assertThat(counts.getStatements()).isEqualTo(ROSTER_SIZE);
+    }
+
+    private ResponseEntity<String> get(String url) {
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, String.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response;
+    }
+
+    private TeamDTO createTeam() {
+        return restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO("Statement Team"), TeamDTO.class).getBody();
+    }
+
+    private TeamDTO teamDTO(String name) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym("ST");
+        teamDTO.setBudget(1000000.0);
+        List<PlayerDTO> roster = new ArrayList<>();
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setFirstName(name);
+            playerDTO.setLastName("Player " + i);
+            playerDTO.setPosition("Defender");
+            playerDTO.setJerseyNumber(i + 1);
+            playerDTO.setSalary(50000.0 + i);
+            roster.add(playerDTO);
+        }
+        teamDTO.setPlayers(roster);
+        return teamDTO;
+    }
+}
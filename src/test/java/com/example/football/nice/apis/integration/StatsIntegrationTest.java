@@ -0,0 +1,201 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.LeagueStatsDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.PositionStatsDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.dto.TeamStatsDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class StatsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TeamDTO nice;
+    private TeamDTO lyon;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        nice = createTeam(teamDTO("Nice", List.of(
+                player("Marcin", "Bulka", "Goalkeeper", "Polish", 24, 1_000_000.0),
+                player("Jean-Clair", "Todibo", "Defender", "French", 23, 2_000_000.0),
+                player("Dante", "Bonfim", "Defender", "Brazilian", 40, 1_500_000.0),
+                player("Khéphren", "Thuram", "Midfielder", "French", 22, 2_500_000.0),
+                player("Youcef", "Atal", "Defender", "Algerian", null, null))));
+        lyon = createTeam(teamDTO("Lyon", List.of(
+                player("Anthony", "Lopes", "Goalkeeper", "Portuguese", 33, 3_000_000.0),
+                player("Tanner", "Tessmann", "Midfielder", "American", 22, 1_000_000.0))));
+        // free agents are on no payroll
+        restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players", player("Free", "Agent", "Defender", "French", 30, 9_000_000.0), PlayerDTO.class);
+    }
+
+    @Test
+    void testTeamStatsAreAggregatedInTheDatabase() {
+        ResponseEntity<TeamStatsDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/teams/" + nice.getId() + "/stats", TeamStatsDTO.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        TeamStatsDTO stats = response.getBody();
+        assertThat(stats.getTeamName()).isEqualTo("Nice");
+        assertThat(stats.getPlayerCount()).isEqualTo(5);
+        assertThat(stats.getPayroll()).isEqualTo(7_000_000.0);
+        assertThat(stats.getAverageSalary()).isEqualTo(1_750_000.0);
+        assertThat(stats.getAverageAge()).isCloseTo(27.25, within(0.001));
+        assertThat(stats.getYoungestAge()).isEqualTo(22);
+        assertThat(stats.getOldestAge()).isEqualTo(40);
+        assertThat(stats.getPositions()).extracting(PositionStatsDTO::getPosition)
+                .containsExactly("Defender", "Goalkeeper", "Midfielder");
+        PositionStatsDTO defenders = stats.getPositions().get(0);
+        assertThat(defenders.getPlayerCount()).isEqualTo(3);
+        assertThat(defenders.getTotalSalary()).isEqualTo(3_500_000.0);
+        assertThat(defenders.getAverageAge()).isCloseTo(31.5, within(0.001));
+
+        ResponseEntity<String> missing = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/teams/0/stats", String.class);
+        assertThat(missing.getStatusCodeValue()).isEqualTo(404);
+    }
+
+    @Test
+    void testSalaryByPositionFiltersOnNationality() {
+        List<PositionStatsDTO> french = salaryByPosition("?nationality=French");
+        assertThat(french).extracting(PositionStatsDTO::getPosition).containsExactly("Defender", "Midfielder");
+        assertThat(french).extracting(PositionStatsDTO::getTotalSalary).containsExactly(2_000_000.0, 2_500_000.0);
+
+        LeagueStatsDTO league = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/stats/league", LeagueStatsDTO.class).getBody();
+        assertThat(league.getTeamCount()).isEqualTo(2);
+        assertThat(league.getPlayerCount()).isEqualTo(7);
+        assertThat(league.getPayroll()).isEqualTo(11_000_000.0);
+        assertThat(league.getAverageAge()).isCloseTo(164.0 / 6, within(0.001));
+    }
+
+    @Test
+    void testSummaryTableFollowsEveryKindOfWrite() {
+        assertSummaryMatchesLiveAggregation();
+
+        // salary change, position change, transfer to another team, release to free agency, deletions
+        PlayerDTO todibo = rosterPlayer(nice, "Todibo");
+        todibo.setSalary(2_200_000.0);
+        update(todibo);
+        patch(rosterPlayer(nice, "Bonfim").getId(), "{\"position\": \"Midfielder\", \"age\": 41}");
+        patch(rosterPlayer(lyon, "Tessmann").getId(), "{\"teamId\": " + nice.getId() + "}");
+        patch(rosterPlayer(nice, "Atal").getId(), "{\"teamId\": null}");
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/players/" + rosterPlayer(nice, "Bulka").getId());
+        assertSummaryMatchesLiveAggregation();
+
+        // a rolled back write leaves the summary untouched
+        Long thuramId = rosterPlayer(nice, "Thuram").getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            Player thuram = playerRepository.findById(thuramId).orElseThrow();
+            thuram.setSalary(99_000_000.0);
+            thuram.setPosition("Forward");
+            playerRepository.flush();
+            status.setRollbackOnly();
+        });
+        assertSummaryMatchesLiveAggregation();
+
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/teams/" + lyon.getId());
+        assertSummaryMatchesLiveAggregation();
+        assertThat(salaryByPosition("")).extracting(PositionStatsDTO::getPosition)
+                .containsExactly("Defender", "Midfielder");
+    }
+
+    private void assertSummaryMatchesLiveAggregation() {
+        List<PositionStatsDTO> summary = salaryByPosition("");
+        List<PositionStatsDTO> live = playerRepository.findPositionStats(null);
+        assertThat(summary).hasSameSizeAs(live);
+        for (int i = 0; i < live.size(); i++) {
+            assertThat(summary.get(i).getPosition()).isEqualTo(live.get(i).getPosition());
+            assertThat(summary.get(i).getPlayerCount()).isEqualTo(live.get(i).getPlayerCount());
+            assertThat(summary.get(i).getTotalSalary()).isCloseTo(live.get(i).getTotalSalary(), within(0.01));
+            assertThat(summary.get(i).getAverageAge()).isCloseTo(live.get(i).getAverageAge(), within(0.001));
+        }
+    }
+
+    private List<PositionStatsDTO> salaryByPosition(String query) {
+        ResponseEntity<PositionStatsDTO[]> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/stats/salary-by-position" + query, PositionStatsDTO[].class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return List.of(response.getBody());
+    }
+
+    private PlayerDTO rosterPlayer(TeamDTO team, String lastName) {
+        return team.getPlayers().stream().filter(p -> p.getLastName().equals(lastName)).findFirst().orElseThrow();
+    }
+
+    private void update(PlayerDTO player) {
+        ResponseEntity<PlayerDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/" + player.getId(), HttpMethod.PUT, new HttpEntity<>(player), PlayerDTO.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+    }
+
+    private void patch(Long playerId, String patch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        ResponseEntity<Void> response = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/players/" + playerId, HttpMethod.PATCH, new HttpEntity<>(patch, headers), Void.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(204);
+    }
+
+    private TeamDTO createTeam(TeamDTO teamDTO) {
+        ResponseEntity<TeamDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response.getBody();
+    }
+
+    private static TeamDTO teamDTO(String name, List<PlayerDTO> players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(name.substring(0, 3).toUpperCase());
+        teamDTO.setBudget(50_000_000.0);
+        teamDTO.setPlayers(new ArrayList<>(players));
+        return teamDTO;
+    }
+
+    private static PlayerDTO player(String firstName, String lastName, String position, String nationality,
+                                    Integer age, Double salary) {
+        PlayerDTO player = new PlayerDTO();
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setPosition(position);
+        player.setNationality(nationality);
+        player.setAge(age);
+        player.setSalary(salary);
+        return player;
+    }
+}
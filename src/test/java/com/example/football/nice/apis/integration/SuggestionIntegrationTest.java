@@ -0,0 +1,167 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.SuggestionDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.football.nice.apis.integration.SqlStatementAssertions.assertThatSql;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class SuggestionIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private TeamDTO team;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        team = restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams",
+                teamDTO("Olympique Gymnaste Club de Nice", "Kylian Mbappé", "Khéphren Thuram", "Jean-Clair Todibo",
+                        "Kylian Dupont"), TeamDTO.class).getBody();
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams",
+                teamDTO("Olympique Lyonnais", "Alexandre Lacazette"), TeamDTO.class);
+    }
+
+    @Test
+    void testPrefixSuggestionsAreServedWithoutQueries() {
+        // the prefix match first, then near matches to fill the limit
+        ResponseEntity<SuggestionDTO[]> response = suggest("/api/players/suggest?q=kylian m");
+        assertThat(response.getBody()).extracting(SuggestionDTO::getName).containsExactly("Kylian Mbappé", "Kylian Dupont");
+        assertThat(response.getBody()[0].getScore()).isEqualTo(1.0);
+        assertThat(response.getBody()[1].getScore()).isLessThan(0.9);
+        assertThatSql(response).hasAtMostStatements(0);
+
+        assertThat(suggest("/api/players/suggest?q=kyl").getBody()).extracting(SuggestionDTO::getName)
+                .containsExactly("Kylian Dupont", "Kylian Mbappé");
+        // any word of the name, accents and hyphens ignored
+        assertThat(suggest("/api/players/suggest?q=clair").getBody()).extracting(SuggestionDTO::getName)
+                .containsExactly("Jean-Clair Todibo");
+        assertThat(suggest("/api/players/suggest?q=KHEPH").getBody()).extracting(SuggestionDTO::getName)
+                .containsExactly("Khéphren Thuram");
+        assertThat(suggest("/api/teams/suggest?q=olympique&limit=1").getBody()).hasSize(1);
+    }
+
+    @Test
+    void testTypoTolerantSuggestions() {
+        SuggestionDTO[] players = suggest("/api/players/suggest?q=mbape").getBody();
+        assertThat(players).isNotEmpty();
+        assertThat(players[0].getName()).isEqualTo("Kylian Mbappé");
+        assertThat(players[0].getScore()).isLessThan(0.9);
+
+        SuggestionDTO[] teams = suggest("/api/teams/suggest?q=lyonais").getBody();
+        assertThat(teams).extracting(SuggestionDTO::getName).first().isEqualTo("Olympique Lyonnais");
+    }
+
+    @Test
+    void testSuggestionsFollowWrites() {
+        Long playerId = team.getPlayers().stream().filter(p -> p.getLastName().equals("Thuram")).findFirst()
+                .orElseThrow().getId();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        restTemplate.withBasicAuth("admin", "admin123").exchange("/api/players/" + playerId, HttpMethod.PATCH,
+                new HttpEntity<>("{\"lastName\": \"Thuram-Ulien\"}", headers), Void.class);
+        assertThat(suggest("/api/players/suggest?q=ulien").getBody()).extracting(SuggestionDTO::getId)
+                .containsExactly(playerId);
+
+        restTemplate.withBasicAuth("admin", "admin123").delete("/api/teams/" + team.getId());
+        assertThat(suggest("/api/teams/suggest?q=gymnaste").getBody()).isEmpty();
+        assertThat(suggest("/api/players/suggest?q=kylian").getBody()).isEmpty();
+        assertThat(suggest("/api/players/suggest?q=lacazette").getBody()).hasSize(1);
+    }
+
+    @Test
+    void testWholeNamePrefixOutranksManyWordPrefixMatches() {
+        // thousands of names whose later word starts with "zid" and sorts before "zidane"
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 0; i < 2_100; i++) {
+            players.add(playerDTO("Ali", "Zidaa" + i));
+        }
+        players.add(playerDTO("Zidane", "Yazid"));
+        ResponseEntity<String> imported = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players/bulk", players, String.class);
+        assertThat(imported.getStatusCodeValue()).isEqualTo(200);
+
+        SuggestionDTO[] suggestions = suggest("/api/players/suggest?q=zid&limit=3").getBody();
+
+        assertThat(suggestions).hasSize(3);
+        assertThat(suggestions[0].getName()).isEqualTo("Zidane Yazid");
+    }
+
+    @Test
+    void testShorterWholeNamePrefixesComeFirst() {
+        // the longer name sorts first, the shorter one ranks first
+        List<PlayerDTO> players = List.of(playerDTO("Qorbaa", "Longuenesse"), playerDTO("Qorbz", "Li"));
+        ResponseEntity<String> imported = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/players/bulk", players, String.class);
+        assertThat(imported.getStatusCodeValue()).isEqualTo(200);
+
+        SuggestionDTO[] suggestions = suggest("/api/players/suggest?q=qorb&limit=1").getBody();
+
+        assertThat(suggestions).extracting(SuggestionDTO::getName).containsExactly("Qorbz Li");
+    }
+
+    @Test
+    void testInvalidLimitIsRejected() {
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/players/suggest?q=ky&limit=0", String.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    private ResponseEntity<SuggestionDTO[]> suggest(String url) {
+        ResponseEntity<SuggestionDTO[]> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity(url, SuggestionDTO[].class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        return response;
+    }
+
+    private static TeamDTO teamDTO(String name, String... players) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(name);
+        teamDTO.setAcronym(name.substring(0, 3).toUpperCase());
+        teamDTO.setBudget(1_000_000.0);
+        List<PlayerDTO> roster = new ArrayList<>();
+        for (int i = 0; i < players.length; i++) {
+            String[] names = players[i].split(" ", 2);
+            PlayerDTO player = playerDTO(names[0], names[1]);
+            player.setJerseyNumber(i + 1);
+            roster.add(player);
+        }
+        teamDTO.setPlayers(roster);
+        return teamDTO;
+    }
+
+    private static PlayerDTO playerDTO(String firstName, String lastName) {
+        PlayerDTO player = new PlayerDTO();
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setPosition("Forward");
+        return player;
+    }
+}
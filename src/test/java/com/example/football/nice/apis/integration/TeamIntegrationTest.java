@@ -1,5 +1,8 @@
 package com.example.football.nice.apis.integration;
 
+import com.example.football.nice.apis.dto.BulkImportResultDTO;
+import com.example.football.nice.apis.dto.CursorPageDTO;
+import com.example.football.nice.apis.dto.PlayerDTO;
 import com.example.football.nice.apis.dto.TeamDTO;
 import com.example.football.nice.apis.repository.PlayerRepository;
 import com.example.football.nice.apis.repository.TeamRepository;
@@ -8,11 +11,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -81,6 +88,155 @@ public class TeamIntegrationTest {
         assertThat(response.getBody().getName()).isEqualTo("Updated Team Name");
     }
 
+    @Test
+    void testGetTeamByIdAfterUpdateIsNotServedFromStaleCache() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        String url = "/api/teams/" + teamResponse.getBody().getId();
+        restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class);
+
+        TeamDTO updatedTeamDTO = createTestTeamDTO();
+        updatedTeamDTO.setName("Renamed Team");
+        restTemplate.withBasicAuth("admin", "admin123").put(url, updatedTeamDTO);
+
+        ResponseEntity<TeamDTO> response = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class);
+        assertThat(response.getBody().getName()).isEqualTo("Renamed Team");
+    }
+
+    @Test
+    void testUpdateTeamKeepsIdsOfUnchangedAndUpdatedPlayers() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setFirstName("Player");
+            playerDTO.setLastName("Number " + i);
+            playerDTO.setPosition("Forward");
+            playerDTO.setSalary(1000.0 * i);
+            players.add(playerDTO);
+        }
+        teamDTO.setPlayers(players);
+        TeamDTO created = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class).getBody();
+        String url = "/api/teams/" + created.getId();
+        List<Long> playerIds = created.getPlayers().stream().map(PlayerDTO::getId).toList();
+
+        created.getPlayers().get(1).setSalary(5000.0);
+        restTemplate.withBasicAuth("admin", "admin123").put(url, created);
+
+        TeamDTO updated = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class).getBody();
+        assertThat(updated.getPlayers()).extracting(PlayerDTO::getId).containsExactlyInAnyOrderElementsOf(playerIds);
+        assertThat(updated.getPlayers()).extracting(PlayerDTO::getSalary).containsExactlyInAnyOrder(1000.0, 5000.0, 3000.0);
+
+        // sans liste de joueurs, l'effectif est conservé
+        TeamDTO renamed = createTestTeamDTO();
+        renamed.setName("Renamed Team");
+        restTemplate.withBasicAuth("admin", "admin123").put(url, renamed);
+        TeamDTO afterRename = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class).getBody();
+        assertThat(afterRename.getName()).isEqualTo("Renamed Team");
+        assertThat(afterRename.getPlayers()).extracting(PlayerDTO::getId).containsExactlyInAnyOrderElementsOf(playerIds);
+    }
+
+    @Test
+    void testPatchTeamRosterAndRejectRemovingRequiredField() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        PlayerDTO playerDTO = new PlayerDTO();
+        playerDTO.setFirstName("John");
+        playerDTO.setLastName("Doe");
+        playerDTO.setPosition("Forward");
+        teamDTO.setPlayers(List.of(playerDTO));
+        TeamDTO created = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", teamDTO, TeamDTO.class).getBody();
+        String url = "/api/teams/" + created.getId();
+        Long johnId = created.getPlayers().get(0).getId();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        String patch = "{\"acronym\": \"NEW\", \"players\": [{\"id\": " + johnId + ", \"firstName\": \"John\", \"lastName\": \"Doe\", \"position\": \"Goalkeeper\"},"
+                + " {\"firstName\": \"Jane\", \"lastName\": \"Roe\", \"position\": \"Defender\"}]}";
+        ResponseEntity<Void> patched = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PATCH, new HttpEntity<>(patch, headers), Void.class);
+        assertThat(patched.getStatusCodeValue()).isEqualTo(204);
+
+        ResponseEntity<TeamDTO> current = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class);
+        assertThat(current.getHeaders().getETag()).isEqualTo(patched.getHeaders().getETag());
+        assertThat(current.getBody().getName()).isEqualTo("Team Name");
+        assertThat(current.getBody().getAcronym()).isEqualTo("NEW");
+        assertThat(current.getBody().getPlayers()).hasSize(2);
+        assertThat(current.getBody().getPlayers()).filteredOn(player -> player.getId().equals(johnId))
+                .extracting(PlayerDTO::getPosition).containsExactly("Goalkeeper");
+
+        ResponseEntity<String> rejected = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PATCH, new HttpEntity<>("{\"name\": null}", headers), String.class);
+        assertThat(rejected.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    void testGetTeamByIdAnswersNotModifiedForCurrentETag() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        String url = "/api/teams/" + teamResponse.getBody().getId();
+
+        ResponseEntity<TeamDTO> first = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class);
+        String eTag = first.getHeaders().getETag();
+        assertThat(eTag).isNotNull().isEqualTo(teamResponse.getHeaders().getETag());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<String> notModified = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(notModified.getStatusCodeValue()).isEqualTo(304);
+        assertThat(notModified.getBody()).isNull();
+
+        // Un joueur ajouté à l'effectif change la représentation de l'équipe, donc son ETag
+        PlayerDTO playerDTO = new PlayerDTO();
+        playerDTO.setFirstName("John");
+        playerDTO.setLastName("Doe");
+        playerDTO.setPosition("Forward");
+        playerDTO.setTeamId(teamResponse.getBody().getId());
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/players", playerDTO, PlayerDTO.class);
+
+        ResponseEntity<TeamDTO> modified = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), TeamDTO.class);
+        assertThat(modified.getStatusCodeValue()).isEqualTo(200);
+        assertThat(modified.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(modified.getBody().getPlayers()).hasSize(1);
+    }
+
+    @Test
+    void testUpdateTeamWithStaleIfMatchIsRejected() {
+        ResponseEntity<TeamDTO> teamResponse = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+        String url = "/api/teams/" + teamResponse.getBody().getId();
+        String eTag = teamResponse.getHeaders().getETag();
+
+        TeamDTO firstUpdate = createTestTeamDTO();
+        firstUpdate.setName("First Writer");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(eTag);
+        ResponseEntity<TeamDTO> accepted = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(firstUpdate, headers), TeamDTO.class);
+        assertThat(accepted.getStatusCodeValue()).isEqualTo(200);
+        assertThat(accepted.getHeaders().getETag()).isNotEqualTo(eTag);
+
+        TeamDTO secondUpdate = createTestTeamDTO();
+        secondUpdate.setName("Second Writer");
+        ResponseEntity<String> rejected = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(secondUpdate, headers), String.class);
+        assertThat(rejected.getStatusCodeValue()).isEqualTo(412);
+
+        // If-Match uses the strong comparison: the weak form of the current tag does not match
+        HttpHeaders weak = new HttpHeaders();
+        weak.setIfMatch("W/" + accepted.getHeaders().getETag());
+        ResponseEntity<String> weakRejected = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange(url, HttpMethod.PUT, new HttpEntity<>(secondUpdate, weak), String.class);
+        assertThat(weakRejected.getStatusCodeValue()).isEqualTo(412);
+
+        ResponseEntity<TeamDTO> current = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, TeamDTO.class);
+        assertThat(current.getBody().getName()).isEqualTo("First Writer");
+        assertThat(current.getHeaders().getETag()).isEqualTo(accepted.getHeaders().getETag());
+    }
+
     @Test
     void testDeleteTeam() {
         TeamDTO teamDTO = createTestTeamDTO();
@@ -114,6 +270,65 @@ public class TeamIntegrationTest {
         assertThat(response.getBody().size()).isEqualTo(3);
     }
 
+    @Test
+    void testGetTeamsWithCursorPagination() {
+        for (int i = 1; i <= 5; i++) {
+            TeamDTO teamDTO = new TeamDTO();
+            teamDTO.setName("Team " + i);
+            teamDTO.setAcronym("T" + i);
+            teamDTO.setBudget(100000.0 * (6 - i));
+            restTemplate.withBasicAuth("admin", "admin123")
+                    .postForEntity("/api/teams", teamDTO, TeamDTO.class);
+        }
+
+        List<String> names = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            String url = "/api/teams/scroll?size=2&sortBy=budget" + (after != null ? "&after=" + after : "");
+            ResponseEntity<CursorPageDTO<TeamDTO>> response = restTemplate.withBasicAuth("admin", "admin123")
+                    .exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<CursorPageDTO<TeamDTO>>() {});
+            assertThat(response.getStatusCodeValue()).isEqualTo(200);
+            response.getBody().getItems().forEach(team -> names.add(team.getName()));
+            after = response.getBody().getNext();
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(names).containsExactly("Team 5", "Team 4", "Team 3", "Team 2", "Team 1");
+    }
+
+    @Test
+    void testGetTeamsWithInvalidCursor() {
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123")
+                .getForEntity("/api/teams/scroll?after=not-a-cursor", String.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    void testBulkImportTeams() {
+        restTemplate.withBasicAuth("admin", "admin123").postForEntity("/api/teams", createTestTeamDTO(), TeamDTO.class);
+
+        List<TeamDTO> teams = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            TeamDTO teamDTO = new TeamDTO();
+            teamDTO.setName("Bulk Team " + i);
+            teamDTO.setAcronym("BT" + i);
+            teamDTO.setBudget(100000.0 * i);
+            teams.add(teamDTO);
+        }
+        teams.add(createTestTeamDTO());
+
+        ResponseEntity<BulkImportResultDTO> response = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/teams/bulk", teams, BulkImportResultDTO.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody().getCreated()).isEqualTo(3);
+        assertThat(response.getBody().getErrors()).extracting(BulkImportResultDTO.RowError::row).containsExactly(3);
+        assertThat(teamRepository.count()).isEqualTo(4);
+    }
+
     private TeamDTO createTestTeamDTO() {
         TeamDTO teamDTO = new TeamDTO();
         teamDTO.setName("Team Name");
@@ -0,0 +1,128 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.PlayerDTO;
+import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
+import com.example.football.nice.apis.repository.PlayerRepository;
+import com.example.football.nice.apis.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class TeamListingQueryCountIntegrationTest {
+
+    private static final int TEAM_COUNT = 12;
+    private static final int PLAYERS_PER_TEAM = 3;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        for (int i = 1; i <= TEAM_COUNT; i++) {
+            restTemplate.withBasicAuth("admin", "admin123")
+                    .postForEntity("/api/teams", createTestTeamDTO(i), TeamDTO.class);
+        }
+    }
+
+    @Test
+    void testPagedTeamListingQueryCountDoesNotGrowWithPageSize() {
+        long smallPage = countStatements("/api/teams?page=0&size=2", 2);
+        long largePage = countStatements("/api/teams?page=0&size=10", 10);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void testCursorTeamListingQueryCountDoesNotGrowWithPageSize() {
+        long smallPage = countStatements("/api/teams/scroll?size=2", 2);
+        long largePage = countStatements("/api/teams/scroll?size=10", 10);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testBudgetPatchDoesNotLoadRosterAndWritesOneColumn() {
+        Long teamId = teamRepository.findAll().get(0).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        ResponseEntity<Void> response = restTemplate.withBasicAuth("admin", "admin123")
+                .exchange("/api/teams/" + teamId, HttpMethod.PATCH, new HttpEntity<>("{\"budget\": 123456.0}", headers), Void.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(204);
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Player.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(teamRepository.findById(teamId).get().getBudget()).isEqualTo(123456.0);
+        assertThat(playerRepository.findIdsByTeamId(teamId)).hasSize(PLAYERS_PER_TEAM);
+    }
+
+    private long countStatements(String url, int expectedTeams) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123").getForEntity(url, String.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody().split("\"lastName\"", -1)).hasSize(expectedTeams * PLAYERS_PER_TEAM + 1);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private TeamDTO createTestTeamDTO(int index) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(String.format("Team %02d", index));
+        teamDTO.setAcronym("T" + index);
+        teamDTO.setBudget(100000.0 * index);
+        List<PlayerDTO> players = new ArrayList<>();
+        for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setFirstName("Player " + index);
+            playerDTO.setLastName("Number " + j);
+            playerDTO.setPosition("Forward");
+            playerDTO.setAge(20 + j);
+            playerDTO.setJerseyNumber(j);
+            playerDTO.setNationality("French");
+            playerDTO.setSize("M");
+            playerDTO.setSalary(1000.0 * j);
+            players.add(playerDTO);
+        }
+        teamDTO.setPlayers(players);
+        return teamDTO;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.dto.TokenDTO;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class TokenAuthenticationIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Value("${football.security.jwt.secret}")
+    private String secret;
+
+    @Test
+    void testIssuedTokenAuthenticatesApiRequests() {
+        ResponseEntity<TokenDTO> issued = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/auth/token", null, TokenDTO.class);
+        assertThat(issued.getStatusCodeValue()).isEqualTo(200);
+        assertThat(issued.getBody().getTokenType()).isEqualTo("Bearer");
+        assertThat(issued.getBody().getExpiresIn()).isEqualTo(900);
+        assertThat(issued.getHeaders().getCacheControl()).contains("no-store");
+
+        ResponseEntity<String> response = getTeams(issued.getBody().getAccessToken());
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+    }
+
+    @Test
+    void testTokenEndpointRequiresCredentials() {
+        ResponseEntity<TokenDTO> anonymous = restTemplate.postForEntity("/api/auth/token", null, TokenDTO.class);
+        assertThat(anonymous.getStatusCodeValue()).isEqualTo(401);
+
+        ResponseEntity<TokenDTO> wrongPassword = restTemplate.withBasicAuth("admin", "wrong")
+                .postForEntity("/api/auth/token", null, TokenDTO.class);
+        assertThat(wrongPassword.getStatusCodeValue()).isEqualTo(401);
+    }
+
+    @Test
+    void testTokenCannotBeRenewedWithATokenAlone() {
+        String token = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/auth/token", null, TokenDTO.class).getBody().getAccessToken();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+
+        ResponseEntity<TokenDTO> renewed = restTemplate.exchange("/api/auth/token", HttpMethod.POST,
+                new HttpEntity<>(headers), TokenDTO.class);
+
+        assertThat(renewed.getStatusCodeValue()).isEqualTo(401);
+    }
+
+    @Test
+    void testInvalidTokensAreRejected() {
+        String token = restTemplate.withBasicAuth("admin", "admin123")
+                .postForEntity("/api/auth/token", null, TokenDTO.class).getBody().getAccessToken();
+        String tampered = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+        String expired = Jwts.builder()
+                .setSubject("admin")
+                .setIssuer("football-nice-apis")
+                .setExpiration(Date.from(Instant.now().minusSeconds(3600)))
+                .claim("roles", List.of("ROLE_USER"))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+        String otherKey = Jwts.builder()
+                .setSubject("admin")
+                .setIssuer("football-nice-apis")
+                .setExpiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        for (String invalid : List.of(tampered, expired, otherKey, "not-a-jwt")) {
+            ResponseEntity<String> response = getTeams(invalid);
+            assertThat(response.getStatusCodeValue()).isEqualTo(401);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer error=\"invalid_token\"");
+        }
+    }
+
+    private ResponseEntity<String> getTeams(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange("/api/teams", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
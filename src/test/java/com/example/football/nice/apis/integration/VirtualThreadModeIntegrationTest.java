@@ -0,0 +1,77 @@
+package com.example.football.nice.apis.integration;
+
+import com.example.football.nice.apis.config.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "football.diagnostics.pinning.threshold=10ms")
+@ActiveProfiles({"test", "virtual"})
+public class VirtualThreadModeIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Test
+    void testRequestsAndInternalExecutorsRunOnVirtualThreads() throws Exception {
+        ResponseEntity<String> response = restTemplate.withBasicAuth("admin", "admin123").getForEntity("/api/teams", String.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+
+        Executor tomcatExecutor = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector()
+                .getProtocolHandler().getExecutor();
+        assertThat(tomcatExecutor.getClass().getSimpleName()).isEqualTo("VirtualThreadExecutor");
+        assertThat(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    }
+
+    @Test
+    void testPinnedVirtualThreadIsReported() throws Exception {
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                sleep(100);
+            }
+        }).join();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pinnedHere() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinnedHere()).isPositive();
+    }
+
+    private long pinnedHere() {
+        return pinningMonitor.getPinnedSites().entrySet().stream()
+                .filter(site -> site.getKey().startsWith(getClass().getName()))
+                .mapToLong(site -> site.getValue()).sum();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
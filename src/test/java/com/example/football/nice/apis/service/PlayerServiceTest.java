@@ -4,9 +4,11 @@ import com.example.football.nice.apis.dto.PlayerDTO;
 import com.example.football.nice.apis.entity.Player;
 import com.example.football.nice.apis.exception.DuplicateEntityException;
 import com.example.football.nice.apis.exception.EntityNotFoundException;
+import com.example.football.nice.apis.exception.PreconditionFailedException;
 import com.example.football.nice.apis.repository.PlayerRepository;
 import com.example.football.nice.apis.repository.TeamRepository;
 import com.example.football.nice.apis.util.DtoConversionUtils;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +31,18 @@ class PlayerServiceTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private EntityCacheInvalidator entityCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RosterRules rosterRules;
+
+    @Mock
+    private RosterEventPublisher events;
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -71,21 +85,22 @@ class PlayerServiceTest {
 
     @Test
     void testGetPlayerById() {
-        when(playerRepository.findById(anyLong())).thenReturn(Optional.of(player));
+        when(playerRepository.findDtoById(anyLong())).thenReturn(Optional.of(DtoConversionUtils.convertToPlayerDTO(player)));
 
         PlayerDTO foundPlayer = playerService.getPlayerById(1L);
 
         assertNotNull(foundPlayer);
         assertEquals(player.getFirstName(), foundPlayer.getFirstName());
-        verify(playerRepository, times(1)).findById(anyLong());
+        verify(playerRepository, times(1)).findDtoById(anyLong());
+        verify(playerRepository, never()).findById(anyLong());
     }
 
     @Test
     void testGetPlayerById_NotFound() {
-        when(playerRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(playerRepository.findDtoById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> playerService.getPlayerById(1L));
-        verify(playerRepository, times(1)).findById(anyLong());
+        verify(playerRepository, times(1)).findDtoById(anyLong());
     }
 
     @Test
@@ -98,6 +113,7 @@ class PlayerServiceTest {
         assertNotNull(updatedPlayer);
         assertEquals(player.getFirstName(), updatedPlayer.getFirstName());
         verify(playerRepository, times(1)).save(any(Player.class));
+        verify(entityCache, times(1)).evictPlayer(1L);
     }
 
     @Test
@@ -108,6 +124,15 @@ class PlayerServiceTest {
         verify(playerRepository, never()).save(any(Player.class));
     }
 
+    @Test
+    void testUpdatePlayer_StaleIfMatch() {
+        player.setVersion(2L);
+        when(playerRepository.findById(anyLong())).thenReturn(Optional.of(player));
+
+        assertThrows(PreconditionFailedException.class, () -> playerService.updatePlayer(1L, playerDTO, "\"1\""));
+        verify(playerRepository, never()).save(any(Player.class));
+    }
+
     @Test
     void testDeletePlayer() {
         when(playerRepository.findById(anyLong())).thenReturn(Optional.of(player));
@@ -115,6 +140,7 @@ class PlayerServiceTest {
         playerService.deletePlayer(1L);
 
         verify(playerRepository, times(1)).delete(any(Player.class));
+        verify(entityCache, times(1)).evictPlayer(1L);
     }
 
     @Test
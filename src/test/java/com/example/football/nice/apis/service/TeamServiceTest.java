@@ -2,11 +2,18 @@ package com.example.football.nice.apis.service;
 
 import com.example.football.nice.apis.dto.PlayerDTO;
 import com.example.football.nice.apis.dto.TeamDTO;
+import com.example.football.nice.apis.entity.Player;
 import com.example.football.nice.apis.entity.Team;
 import com.example.football.nice.apis.exception.DuplicateEntityException;
 import com.example.football.nice.apis.exception.EntityNotFoundException;
+import com.example.football.nice.apis.exception.PreconditionFailedException;
 import com.example.football.nice.apis.repository.PlayerRepository;
 import com.example.football.nice.apis.repository.TeamRepository;
+import com.example.football.nice.apis.util.DtoConversionUtils;
+import com.example.football.nice.apis.util.PlayerUtils;
+import com.example.football.nice.apis.util.TeamJson;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -17,6 +24,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +43,18 @@ class TeamServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private EntityCacheInvalidator entityCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RosterRules rosterRules;
+
+    @Mock
+    private RosterEventPublisher events;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -54,7 +74,7 @@ class TeamServiceTest {
 
         when(teamRepository.findAll(any(Pageable.class))).thenReturn(teamPage);
 
-        List<TeamDTO> foundTeams = teamService.getAllTeams(0, 10, "name");
+        List<TeamJson> foundTeams = teamService.getAllTeams(0, 10, "name");
 
         assertThat(foundTeams).isNotNull();
         assertThat(foundTeams.size()).isEqualTo(2);
@@ -104,6 +124,23 @@ class TeamServiceTest {
         assertThrows(DuplicateEntityException.class, () -> teamService.createTeam(teamDTO));
     }
 
+    @Test
+    void testCreateTeamPlayerAlreadyInDatabase() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        PlayerDTO otherPlayer = createTestPlayerDTO();
+        otherPlayer.setLastName("Smith");
+        teamDTO.setPlayers(Arrays.asList(createTestPlayerDTO(), otherPlayer));
+        when(teamRepository.existsByName(anyString())).thenReturn(false);
+        when(playerRepository.findExistingFingerprints(anyCollection()))
+                .thenReturn(Collections.singletonList(PlayerUtils.fingerprint(otherPlayer)));
+
+        DuplicateEntityException exception = assertThrows(DuplicateEntityException.class, () -> teamService.createTeam(teamDTO));
+
+        assertThat(exception.getMessage()).contains("John Smith");
+        verify(playerRepository, times(1)).findExistingFingerprints(anyCollection());
+        verify(teamRepository, never()).save(any(Team.class));
+    }
+
     @Test
     void testCreateTeamDataIntegrityViolation() {
         TeamDTO teamDTO = createTestTeamDTO();
@@ -128,8 +165,57 @@ class TeamServiceTest {
         assertThat(updatedTeam.getName()).isEqualTo("Team Name");
 
         verify(teamRepository, times(1)).findById(anyLong());
-        verify(teamRepository, times(2)).save(any(Team.class));
+        verify(teamRepository, times(1)).save(any(Team.class));
+        verify(playerRepository, never()).flush();
+        verify(entityManager, times(1)).lock(team, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        verify(entityCache, times(1)).evictTeam(1L);
+    }
+
+    @Test
+    void testUpdateTeamOnlyTouchesChangedPlayers() {
+        Team team = createTestTeam();
+        team.setId(1L);
+        Player unchanged = createTestPlayer(10L, "John", "Doe");
+        Player changed = createTestPlayer(11L, "Jane", "Roe");
+        Player dropped = createTestPlayer(12L, "Jack", "Poe");
+        team.setPlayers(new ArrayList<>(Arrays.asList(unchanged, changed, dropped)));
+        when(teamRepository.findById(anyLong())).thenReturn(Optional.of(team));
+        when(teamRepository.save(any(Team.class))).thenReturn(team);
+
+        TeamDTO teamDTO = createTestTeamDTO();
+        PlayerDTO unchangedDTO = DtoConversionUtils.convertToPlayerDTO(unchanged);
+        PlayerDTO changedDTO = DtoConversionUtils.convertToPlayerDTO(changed);
+        changedDTO.setSalary(99000.0);
+        // sans id : rapproché par le nom
+        changedDTO.setId(null);
+        PlayerDTO addedDTO = createTestPlayerDTO();
+        addedDTO.setFirstName("Joe");
+        teamDTO.setPlayers(Arrays.asList(unchangedDTO, changedDTO, addedDTO));
+
+        TeamDTO updatedTeam = teamService.updateTeam(1L, teamDTO);
+
+        assertThat(team.getPlayers()).hasSize(3).contains(unchanged, changed).doesNotContain(dropped);
+        assertThat(unchanged.getSalary()).isEqualTo(50000.0);
+        assertThat(changed.getSalary()).isEqualTo(99000.0);
+        assertThat(changed.getId()).isEqualTo(11L);
+        assertThat(updatedTeam.getPlayers()).extracting(PlayerDTO::getId).containsExactly(10L, 11L, null);
+        // la suppression est envoyée avant les mises à jour
         verify(playerRepository, times(1)).flush();
+        verify(teamRepository, times(1)).save(team);
+    }
+
+    @Test
+    void testUpdateTeamWithStaleIfMatch() {
+        TeamDTO teamDTO = createTestTeamDTO();
+        Team team = createTestTeam();
+        team.setId(1L);
+        team.setVersion(3L);
+        when(teamRepository.findById(anyLong())).thenReturn(Optional.of(team));
+
+        assertThrows(PreconditionFailedException.class, () -> teamService.updateTeam(1L, teamDTO, "\"2\""));
+
+        verify(entityManager, never()).lock(any(), any(LockModeType.class));
+        verify(teamRepository, never()).save(any(Team.class));
     }
 
 
@@ -162,6 +248,7 @@ class TeamServiceTest {
 
         verify(teamRepository, times(1)).findById(anyLong());
         verify(teamRepository, times(1)).delete(any(Team.class));
+        verify(entityCache, times(1)).evictTeam(1L);
     }
 
     @Test
@@ -188,6 +275,14 @@ class TeamServiceTest {
         return team;
     }
 
+    private Player createTestPlayer(Long id, String firstName, String lastName) {
+        Player player = DtoConversionUtils.convertToPlayer(createTestPlayerDTO(), null);
+        player.setId(id);
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        return player;
+    }
+
     private PlayerDTO createTestPlayerDTO() {
         PlayerDTO playerDTO = new PlayerDTO();
         playerDTO.setFirstName("John");